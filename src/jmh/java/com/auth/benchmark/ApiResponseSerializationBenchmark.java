@@ -0,0 +1,55 @@
+package com.auth.benchmark;
+
+import com.auth.dto.ApiResponse;
+import com.auth.dto.UserPageResponse;
+import com.auth.dto.UserResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+// The envelope is built inside the benchmark, as each controller does per request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private UserResponse user;
+    private UserPageResponse page;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.userResponse(1);
+        page = UserPageResponse.builder()
+                .users(LongStream.rangeClosed(1, 50)
+                        .mapToObj(BenchmarkFixtures::userResponse)
+                        .toList())
+                .limit(50)
+                .hasMore(true)
+                .nextCursor(50L)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] singleUser() {
+        return jsonMapper.writeValueAsBytes(ApiResponse.success("User retrieved successfully", user));
+    }
+
+    @Benchmark
+    public byte[] userPage() {
+        return jsonMapper.writeValueAsBytes(ApiResponse.success("Users retrieved successfully", page));
+    }
+}
@@ -0,0 +1,90 @@
+package com.auth.benchmark;
+
+import com.auth.config.ApiResponseHttpMessageConverter;
+import com.auth.dto.ApiResponse;
+import com.auth.dto.UserResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Writing the {@code GET /api/users/{id}} response body: Jackson serializing the whole envelope,
+ * as the default converter does, against {@link ApiResponseHttpMessageConverter}, which writes a
+ * cached envelope prefix and serializes only the user. Both write into a reused buffer, so the
+ * difference is the serialization work itself. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseWriterBenchmark {
+
+    private static final String MESSAGE = "User retrieved successfully";
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final BufferOutputMessage outputMessage = new BufferOutputMessage();
+    private ApiResponseHttpMessageConverter converter;
+    private UserResponse user;
+
+    @Setup
+    public void setUp() {
+        converter = new ApiResponseHttpMessageConverter(jsonMapper);
+        user = BenchmarkFixtures.userResponse(1);
+    }
+
+    @Benchmark
+    public int jacksonEnvelope() {
+        outputMessage.reset();
+        jsonMapper.writeValue(outputMessage.getBody(), ApiResponse.success(MESSAGE, user));
+        return outputMessage.size();
+    }
+
+    @Benchmark
+    public int preEncodedEnvelope() throws IOException {
+        outputMessage.reset();
+        converter.write(ApiResponse.success(MESSAGE, user), MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.size();
+    }
+
+    private static final class BufferOutputMessage implements HttpOutputMessage {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        // Headers are kept: the converter only sets Content-Type when it is missing
+        void reset() {
+            body.reset();
+        }
+
+        int size() {
+            return body.size();
+        }
+    }
+}
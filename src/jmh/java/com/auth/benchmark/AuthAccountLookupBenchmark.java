@@ -0,0 +1,103 @@
+package com.auth.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Provider account to user id lookups per second on an auth_accounts-shaped table, comparing the
+ * original layout (VARCHAR provider, non-unique index, user_id read from the heap) against the
+ * current one (SMALLINT provider, unique index including user_id, answered by an index-only scan).
+ *
+ * <p>Loading the table takes a while at the default 10M rows; pass {@code -p rows=...} to shrink it.
+ * Needs a running Postgres, see {@link BenchmarkDatabase}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class AuthAccountLookupBenchmark {
+
+    private static final String TABLE = "bench_auth_accounts";
+    // Google subject ids are long numeric strings (21 digits in practice; 19 keeps them in a long)
+    private static final long GOOGLE_ID_BASE = 1_000_000_000_000_000_000L;
+
+    @Param({"varchar", "smallint-covering"})
+    private String layout;
+
+    @Param({"10000000"})
+    private long rows;
+
+    private Connection connection;
+    private PreparedStatement lookup;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        boolean compact = "smallint-covering".equals(layout);
+        connection = BenchmarkDatabase.connect();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            // Unlogged only to speed up the load; reads go through shared buffers either way
+            statement.execute("CREATE UNLOGGED TABLE " + TABLE + " (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, "
+                    + "provider " + (compact ? "SMALLINT" : "VARCHAR(50)") + " NOT NULL, "
+                    + "provider_account_id VARCHAR(255) NOT NULL, "
+                    + "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                    + "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            // Alternating providers, with GitHub-style short and Google-style long numeric account ids
+            statement.execute("INSERT INTO " + TABLE + " (id, user_id, provider, provider_account_id) "
+                    + "SELECT g, g, " + (compact ? "(g % 2 + 1)::smallint" : "CASE g % 2 WHEN 0 THEN 'GITHUB' ELSE 'GOOGLE' END")
+                    + ", CASE g % 2 WHEN 0 THEN g::text ELSE (" + GOOGLE_ID_BASE + " + g)::text END "
+                    + "FROM generate_series(1, " + rows + ") g");
+            statement.execute(compact
+                    ? "CREATE UNIQUE INDEX bench_auth_accounts_provider ON " + TABLE
+                            + " (provider, provider_account_id) INCLUDE (user_id)"
+                    : "CREATE INDEX bench_auth_accounts_provider ON " + TABLE + " (provider, provider_account_id)");
+            // Sets the visibility map, without which index-only scans still visit the heap
+            statement.execute("VACUUM ANALYZE " + TABLE);
+        }
+        lookup = connection.prepareStatement(
+                "SELECT user_id FROM " + TABLE + " WHERE provider = ? AND provider_account_id = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long findUserId() throws SQLException {
+        long row = ThreadLocalRandom.current().nextLong(1, rows + 1);
+        boolean github = row % 2 == 0;
+        if ("smallint-covering".equals(layout)) {
+            lookup.setShort(1, (short) (github ? 1 : 2));
+        } else {
+            lookup.setString(1, github ? "GITHUB" : "GOOGLE");
+        }
+        lookup.setString(2, Long.toString(github ? row : GOOGLE_ID_BASE + row));
+        try (ResultSet rs = lookup.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.auth.benchmark;
+
+import com.auth.config.OAuthProperties;
+import com.auth.metrics.AuthMetrics;
+import com.auth.service.oauth.GitHubOAuthService;
+import com.auth.service.oauth.GoogleOAuthService;
+import com.auth.util.OAuthUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationUrlBenchmark {
+
+    private GoogleOAuthService googleOAuthService;
+    private GitHubOAuthService gitHubOAuthService;
+    private String state;
+    private String codeVerifier;
+
+    @Setup
+    public void setUp() {
+        OAuthProperties properties = BenchmarkFixtures.oAuthProperties();
+        // URL building never touches the client
+        WebClient webClient = WebClient.create();
+        AuthMetrics authMetrics = BenchmarkFixtures.authMetrics();
+        googleOAuthService = new GoogleOAuthService(properties, webClient, authMetrics);
+        gitHubOAuthService = new GitHubOAuthService(properties, webClient, authMetrics);
+        state = OAuthUtils.generateState();
+        codeVerifier = OAuthUtils.generateCodeVerifier();
+    }
+
+    // Includes the S256 code challenge, as the real request path does
+    @Benchmark
+    public String googleAuthorizationUrl() {
+        return googleOAuthService.createAuthorizationUrl(state, codeVerifier);
+    }
+
+    @Benchmark
+    public String gitHubAuthorizationUrl() {
+        return gitHubOAuthService.createAuthorizationUrl(state);
+    }
+}
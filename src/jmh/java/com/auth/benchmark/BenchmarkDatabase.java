@@ -0,0 +1,23 @@
+package com.auth.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+// Benchmarks that need Postgres read the connection from the environment so forked JMH JVMs inherit it
+final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {}
+
+    static Connection connect() throws SQLException {
+        String url = env("BENCHMARK_DB_URL", "jdbc:postgresql://localhost:5432/authdb?reWriteBatchedInserts=true");
+        String username = env("BENCHMARK_DB_USERNAME", "postgres");
+        String password = env("BENCHMARK_DB_PASSWORD", "root");
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
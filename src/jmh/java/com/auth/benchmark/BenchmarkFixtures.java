@@ -0,0 +1,84 @@
+package com.auth.benchmark;
+
+import com.auth.config.OAuthProperties;
+import com.auth.dto.UserResponse;
+import com.auth.metrics.AuthMetrics;
+import com.auth.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {}
+
+    static User user(long id) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 20, 10, 30);
+        return User.builder()
+                .id(id)
+                .firstName("John")
+                .lastName("Doe")
+                .gender("Male")
+                .email("john.doe" + id + "@example.com")
+                .countryCode("+1")
+                .phone("1234567890")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5nFZ8HHXwQZQ6cKqfKtI6cG")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    // Real meters, so the benchmarks include the cost the instrumentation adds
+    static AuthMetrics authMetrics() {
+        return new AuthMetrics(new SimpleMeterRegistry());
+    }
+
+    static UserResponse userResponse(long id) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 20, 10, 30);
+        return UserResponse.builder()
+                .id(id)
+                .firstName("John")
+                .lastName("Doe")
+                .gender("Male")
+                .email("john.doe" + id + "@example.com")
+                .countryCode("+1")
+                .phone("1234567890")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    // Mirrors application.yaml so URL building and the state store see production-shaped config
+    static OAuthProperties oAuthProperties() {
+        OAuthProperties.GoogleProperties google = new OAuthProperties.GoogleProperties();
+        google.setClientId("bench-client-id.apps.googleusercontent.com");
+        google.setClientSecret("bench-client-secret");
+        google.setRedirectUri("http://localhost:8080/auth/google/callback");
+        google.setAuthUri("https://accounts.google.com/o/oauth2/v2/auth");
+        google.setTokenUri("https://oauth2.googleapis.com/token");
+        google.setUserInfoUri("https://www.googleapis.com/oauth2/v2/userinfo");
+        google.setScopes("openid,profile,email");
+
+        OAuthProperties.GitHubProperties github = new OAuthProperties.GitHubProperties();
+        github.setClientId("bench-github-client-id");
+        github.setClientSecret("bench-github-client-secret");
+        github.setRedirectUri("http://localhost:8080/auth/github/callback");
+        github.setAuthUri("https://github.com/login/oauth/authorize");
+        github.setTokenUri("https://github.com/login/oauth/access_token");
+        github.setUserInfoUri("https://api.github.com/user");
+        github.setUserEmailsUri("https://api.github.com/user/emails");
+        github.setScopes("read:user,user:email");
+
+        OAuthProperties.StateStoreProperties stateStore = new OAuthProperties.StateStoreProperties();
+        stateStore.setType("memory");
+        stateStore.setTtl(Duration.ofMinutes(10));
+        stateStore.setMaxCapacity(500_000);
+
+        OAuthProperties properties = new OAuthProperties();
+        properties.setGoogle(google);
+        properties.setGithub(github);
+        properties.setStateStore(stateStore);
+        properties.setFrontendRedirectUrl("http://localhost:8080");
+        return properties;
+    }
+}
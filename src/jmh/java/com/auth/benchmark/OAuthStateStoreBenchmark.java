@@ -0,0 +1,78 @@
+package com.auth.benchmark;
+
+import com.auth.service.oauth.InMemoryOAuthStateStore;
+import com.auth.service.oauth.OAuthStateData;
+import com.auth.util.OAuthUtils;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Runs on every core against one shared store to expose contention; states are pre-generated so
+// SecureRandom cost stays out of the numbers (see OAuthUtilsBenchmark for that)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class OAuthStateStoreBenchmark {
+
+    private static final int STATES_PER_THREAD = 4096;
+
+    @State(Scope.Benchmark)
+    public static class SharedStore {
+        InMemoryOAuthStateStore store;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            store = new InMemoryOAuthStateStore(
+                    BenchmarkFixtures.oAuthProperties(), BenchmarkFixtures.authMetrics());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadStates {
+        final String[] states = new String[STATES_PER_THREAD];
+        final String[] unknownStates = new String[STATES_PER_THREAD];
+        final String codeVerifier = OAuthUtils.generateCodeVerifier();
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            for (int i = 0; i < STATES_PER_THREAD; i++) {
+                states[i] = OAuthUtils.generateState();
+                unknownStates[i] = OAuthUtils.generateState();
+            }
+        }
+
+        int nextIndex() {
+            next = (next + 1) & (STATES_PER_THREAD - 1);
+            return next;
+        }
+    }
+
+    // The full lifecycle of one login: URL request followed by its callback
+    @Benchmark
+    public Optional<OAuthStateData> saveThenConsume(SharedStore shared, ThreadStates thread) {
+        String state = thread.states[thread.nextIndex()];
+        shared.store.saveState(state, thread.codeVerifier);
+        return shared.store.consumeState(state);
+    }
+
+    // Forged or replayed callbacks
+    @Benchmark
+    public Optional<OAuthStateData> consumeUnknown(SharedStore shared, ThreadStates thread) {
+        return shared.store.consumeState(thread.unknownStates[thread.nextIndex()]);
+    }
+}
@@ -0,0 +1,39 @@
+package com.auth.benchmark;
+
+import com.auth.util.OAuthUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OAuthUtilsBenchmark {
+
+    private final String codeVerifier = OAuthUtils.generateCodeVerifier();
+
+    @Benchmark
+    public String generateState() {
+        return OAuthUtils.generateState();
+    }
+
+    @Benchmark
+    public String generateCodeVerifier() {
+        return OAuthUtils.generateCodeVerifier();
+    }
+
+    @Benchmark
+    public String generateCodeChallenge() {
+        return OAuthUtils.generateCodeChallenge(codeVerifier);
+    }
+}
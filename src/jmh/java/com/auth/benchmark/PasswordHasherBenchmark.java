@@ -0,0 +1,73 @@
+package com.auth.benchmark;
+
+import com.auth.config.UserProperties;
+import com.auth.security.PasswordHasher;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Password verifications per second. {@code verifyDirect} run with {@code -t 1} gives the
+ * per-core cost of a bcrypt check; {@code verifyThroughPool} run with many JMH threads shows
+ * what the bounded hashing pool sustains, and the overhead it adds, on this machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PasswordHasherBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private PasswordHasher passwordHasher;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserProperties.PasswordProperties password = new UserProperties.PasswordProperties();
+        password.setBcryptStrength(strength);
+        password.setHashingThreads(0);
+        password.setQueueCapacity(4096);
+        password.setTimeout(Duration.ofMinutes(1));
+        UserProperties userProperties = new UserProperties();
+        userProperties.setPassword(password);
+
+        encoder = new BCryptPasswordEncoder(strength);
+        passwordHasher = new PasswordHasher(userProperties);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public boolean verifyDirect() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean verifyThroughPool() {
+        return passwordHasher.matches(PASSWORD, hash);
+    }
+}
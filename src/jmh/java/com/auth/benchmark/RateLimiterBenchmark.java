@@ -0,0 +1,82 @@
+package com.auth.benchmark;
+
+import com.auth.config.RateLimitProperties;
+import com.auth.ratelimit.JdbcRateLimitStore;
+import com.auth.ratelimit.RateLimitRule;
+import com.auth.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+// The limit is set high enough that no check is rejected, so this measures the sketch itself
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 1 << 16;
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+        RateLimiter rateLimiter;
+        final String[] ips = new String[KEYS];
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            RateLimitProperties.RuleProperties rule = new RateLimitProperties.RuleProperties();
+            rule.setLimit(Integer.MAX_VALUE);
+            rule.setWindow(Duration.ofMinutes(1));
+
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.setEnabled(true);
+            properties.setBackend("memory");
+            properties.setSketchWidth(1 << 16);
+            properties.setSketchDepth(4);
+            properties.setLoginPerIp(rule);
+            properties.setLoginPerEmail(rule);
+            properties.setOauthPerIp(rule);
+
+            rateLimiter = new RateLimiter(
+                    properties,
+                    new StaticListableBeanFactory().getBeanProvider(JdbcRateLimitStore.class),
+                    new SimpleMeterRegistry());
+            for (int i = 0; i < KEYS; i++) {
+                ips[i] = "10." + (i >>> 8 & 0xFF) + "." + (i & 0xFF) + ".1";
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    // Every thread hits its own spread of keys
+    @Benchmark
+    public void distinctKeys(Limiter limiter, Cursor cursor) {
+        cursor.next = (cursor.next + 1) & (KEYS - 1);
+        limiter.rateLimiter.check(RateLimitRule.LOGIN_PER_IP, limiter.ips[cursor.next]);
+    }
+
+    // Every thread hammers the same key, the worst case for counter contention
+    @Benchmark
+    public void singleHotKey(Limiter limiter) {
+        limiter.rateLimiter.check(RateLimitRule.LOGIN_PER_IP, "203.0.113.7");
+    }
+}
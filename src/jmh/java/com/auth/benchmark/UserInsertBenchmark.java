@@ -0,0 +1,136 @@
+package com.auth.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rows inserted per second into a users-shaped table, comparing what Hibernate does with
+ * IDENTITY keys (one INSERT ... RETURNING round trip per row) against pooled sequence keys
+ * (one nextval per 50 rows and a JDBC batch that reWriteBatchedInserts turns into multi-row INSERTs).
+ *
+ * <p>Needs a running Postgres, see {@link BenchmarkDatabase}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserInsertBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 500;
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Param({"identity", "pooled-sequence"})
+    private String strategy;
+
+    private Connection connection;
+    private long nextRow;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = BenchmarkDatabase.connect();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    """
+                    CREATE TEMP TABLE bench_users_identity (
+                        id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                        first_name VARCHAR(100) NOT NULL,
+                        last_name VARCHAR(100) NOT NULL,
+                        email VARCHAR(255) NOT NULL UNIQUE,
+                        created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                        updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                    )
+                    """);
+            statement.execute(
+                    """
+                    CREATE TEMP TABLE bench_users_pooled (
+                        id BIGINT PRIMARY KEY,
+                        first_name VARCHAR(100) NOT NULL,
+                        last_name VARCHAR(100) NOT NULL,
+                        email VARCHAR(255) NOT NULL UNIQUE,
+                        created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                        updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                    )
+                    """);
+            statement.execute("CREATE TEMP SEQUENCE bench_users_pooled_seq INCREMENT BY " + ALLOCATION_SIZE + " START WITH " + ALLOCATION_SIZE);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public long insertUsers() throws SQLException {
+        long lastId = "identity".equals(strategy) ? insertWithIdentity() : insertWithPooledSequence();
+        connection.commit();
+        return lastId;
+    }
+
+    private long insertWithIdentity() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_users_identity (first_name, last_name, email) VALUES (?, ?, ?) RETURNING id")) {
+            for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+                bindUser(insert, 1, nextRow++);
+                try (ResultSet keys = insert.executeQuery()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+        }
+        return lastId;
+    }
+
+    private long insertWithPooledSequence() throws SQLException {
+        long id = 0;
+        long hi = 0;
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('bench_users_pooled_seq')");
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO bench_users_pooled (id, first_name, last_name, email) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+                if (id == hi) {
+                    // Same range Hibernate's pooled optimizer reserves: (hi - allocationSize, hi]
+                    try (ResultSet rs = nextval.executeQuery()) {
+                        rs.next();
+                        hi = rs.getLong(1);
+                    }
+                    id = hi - ALLOCATION_SIZE;
+                }
+                insert.setLong(1, ++id);
+                bindUser(insert, 2, nextRow++);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        return id;
+    }
+
+    private static void bindUser(PreparedStatement statement, int firstIndex, long row) throws SQLException {
+        statement.setString(firstIndex, "First" + row);
+        statement.setString(firstIndex + 1, "Last" + row);
+        statement.setString(firstIndex + 2, "user" + row + "@bench.example.com");
+    }
+}
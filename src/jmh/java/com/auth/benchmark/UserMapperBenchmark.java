@@ -0,0 +1,54 @@
+package com.auth.benchmark;
+
+import com.auth.dto.UserResponse;
+import com.auth.mapper.UserMapper;
+import com.auth.mapper.UserMapperImpl;
+import com.auth.model.User;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({"50", "1000"})
+    private int listSize;
+
+    private final UserMapper userMapper = new UserMapperImpl();
+    private User user;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user(1);
+        users = LongStream.rangeClosed(1, listSize)
+                .mapToObj(BenchmarkFixtures::user)
+                .toList();
+    }
+
+    @Benchmark
+    public UserResponse toResponse() {
+        return userMapper.toResponse(user);
+    }
+
+    @Benchmark
+    public List<UserResponse> toResponseList() {
+        return userMapper.toResponseList(users);
+    }
+}
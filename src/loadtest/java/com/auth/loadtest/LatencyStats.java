@@ -0,0 +1,70 @@
+package com.auth.loadtest;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// Latency of one step, recorded in microseconds with three significant digits
+class LatencyStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    LatencyStats(String name) {
+        this.name = name;
+    }
+
+    void record(long startNanos, long endNanos) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos), MAX_TRACKABLE_MICROS));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void recordErrorIf(boolean record) {
+        if (record) {
+            errors.increment();
+        }
+    }
+
+    static String header() {
+        return String.format(
+                Locale.ROOT,
+                "%-10s %10s %8s %10s %9s %9s %9s %9s %9s",
+                "step",
+                "count",
+                "errors",
+                "req/s",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms");
+    }
+
+    String row(double elapsedSeconds) {
+        long count = histogram.getTotalCount();
+        return String.format(
+                Locale.ROOT,
+                "%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                name,
+                count,
+                errors.sum(),
+                count / elapsedSeconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
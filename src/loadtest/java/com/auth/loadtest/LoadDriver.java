@@ -0,0 +1,157 @@
+package com.auth.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+
+// Runs closed-loop login flows: each worker requests an authorization URL, completes the
+// callback the provider would have made, then follows the redirect to the user resource.
+// Only flows that start after the warmup are recorded.
+@Slf4j
+class LoadDriver {
+
+    private static final Pattern STATE = Pattern.compile("[?&]state=([^&\"]+)");
+    private static final Pattern USER_ID = Pattern.compile("/api/users/(\\d+)$");
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final List<String> providers;
+    private final HttpClient httpClient;
+
+    private final LatencyStats urlStats = new LatencyStats("url");
+    private final LatencyStats callbackStats = new LatencyStats("callback");
+    private final LatencyStats userStats = new LatencyStats("user");
+    private final LatencyStats flowStats = new LatencyStats("flow");
+
+    LoadDriver(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.providers = List.of(options.providers().split(","));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    void run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long recordFromNanos = startNanos + options.warmup().toNanos();
+        long stopNanos = recordFromNanos + options.duration().toNanos();
+
+        log.info(
+                "Driving {} with {} concurrent flows for {} after a {} warmup ({})",
+                baseUrl,
+                options.concurrency(),
+                options.duration(),
+                options.warmup(),
+                providers);
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                workers.execute(() -> {
+                    // runFlow restores the interrupt flag, so an interrupted worker stops here
+                    while (System.nanoTime() < stopNanos && !Thread.currentThread().isInterrupted()) {
+                        runFlow(System.nanoTime() >= recordFromNanos);
+                    }
+                });
+            }
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    void report() {
+        double elapsedSeconds = options.duration().toMillis() / 1000.0;
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(
+                Locale.ROOT,
+                "Load test: %d concurrent flows, %s measured, %d users, providers %s",
+                options.concurrency(),
+                options.duration(),
+                options.users(),
+                providers));
+        lines.add(LatencyStats.header());
+        for (LatencyStats stats : List.of(urlStats, callbackStats, userStats, flowStats)) {
+            lines.add(stats.row(elapsedSeconds));
+        }
+        System.out.println(String.join(System.lineSeparator(), lines));
+    }
+
+    private void runFlow(boolean record) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String provider = providers.get(random.nextInt(providers.size()));
+        String code = OAuthProviderStub.code(random.nextInt(options.users()));
+        long flowStart = System.nanoTime();
+
+        try {
+            long start = System.nanoTime();
+            HttpResponse<String> urlResponse = get("/auth/" + provider + "/url");
+            Matcher state = STATE.matcher(urlResponse.body());
+            if (!step(urlStats, record, start, urlResponse.statusCode() == 200 && state.find())) {
+                flowStats.recordErrorIf(record);
+                return;
+            }
+
+            start = System.nanoTime();
+            HttpResponse<String> callbackResponse =
+                    get("/auth/" + provider + "/callback?code=" + code + "&state=" + state.group(1));
+            // Failures also redirect, but to /login?error=...
+            Matcher userId = USER_ID.matcher(
+                    callbackResponse.headers().firstValue("Location").orElse(""));
+            if (!step(callbackStats, record, start, callbackResponse.statusCode() == 302 && userId.find())) {
+                flowStats.recordErrorIf(record);
+                return;
+            }
+
+            start = System.nanoTime();
+            HttpResponse<String> userResponse = get("/api/users/" + userId.group(1));
+            if (!step(userStats, record, start, userResponse.statusCode() == 200)) {
+                flowStats.recordErrorIf(record);
+                return;
+            }
+
+            if (record) {
+                flowStats.record(flowStart, System.nanoTime());
+            }
+        } catch (IOException e) {
+            log.debug("Flow failed", e);
+            flowStats.recordErrorIf(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean step(LatencyStats stats, boolean record, long startNanos, boolean success) {
+        if (record) {
+            if (success) {
+                stats.record(startNanos, System.nanoTime());
+            } else {
+                stats.recordError();
+            }
+        }
+        return success;
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,91 @@
+package com.auth.loadtest;
+
+import com.auth.AuthLoginServiceApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Starts the provider stub and, unless target= points at a running deployment, an embedded
+// Postgres and the service itself wired to both. Then drives login flows and prints the report.
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (OAuthProviderStub stub = new OAuthProviderStub(
+                options.stubPort(),
+                options.providerLatency(),
+                options.providerJitter(),
+                options.providerErrorRate())) {
+            stub.start();
+
+            if (options.target() != null) {
+                // The deployment under test must point its oauth.*-uri settings at the stub
+                run(options, options.target(), stub);
+                return;
+            }
+
+            try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                    ConfigurableApplicationContext application = startService(postgres, stub)) {
+                String baseUrl = "http://127.0.0.1:" + application.getEnvironment().getProperty("server.port");
+                run(options, baseUrl, stub);
+            }
+        }
+    }
+
+    private static void run(LoadTestOptions options, String baseUrl, OAuthProviderStub stub)
+            throws InterruptedException {
+        LoadDriver driver = new LoadDriver(options, baseUrl);
+        driver.run();
+        driver.report();
+        System.out.printf(
+                "Provider stub: %d requests, %d injected errors%n", stub.requests(), stub.injectedErrors());
+    }
+
+    private static ConfigurableApplicationContext startService(EmbeddedPostgres postgres, OAuthProviderStub stub)
+            throws IOException {
+        int port = freePort();
+        String stubUrl = stub.baseUrl();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", port);
+        properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        properties.put("spring.datasource.username", "postgres");
+        properties.put("spring.datasource.password", "postgres");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("logging.level.com.auth", "INFO");
+        // Every simulated user shares the driver's IP
+        properties.put("rate-limit.enabled", false);
+        properties.put("oauth.frontend-redirect-url", "http://127.0.0.1:" + port);
+
+        for (String provider : new String[] {"google", "github"}) {
+            String prefix = "oauth." + provider + ".";
+            properties.put(prefix + "client-id", "loadtest-" + provider);
+            properties.put(prefix + "client-secret", "loadtest-secret");
+            properties.put(prefix + "auth-uri", stubUrl + "/" + provider + "/authorize");
+            properties.put(prefix + "token-uri", stubUrl + "/" + provider + "/token");
+            // The stub speaks plain HTTP/1.1 only
+            properties.put(prefix + "http.http2", false);
+        }
+        properties.put("oauth.google.user-info-uri", stubUrl + "/google/userinfo");
+        properties.put("oauth.github.user-info-uri", stubUrl + "/github/user");
+        properties.put("oauth.github.user-emails-uri", stubUrl + "/github/user/emails");
+
+        log.info("Starting auth-login-service on port {} against embedded Postgres", port);
+        return new SpringApplicationBuilder(AuthLoginServiceApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.auth.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Parsed from key=value arguments, e.g. "concurrency=128 duration=2m provider-latency=80ms"
+record LoadTestOptions(
+        String target,
+        int concurrency,
+        Duration duration,
+        Duration warmup,
+        int users,
+        String providers,
+        Duration providerLatency,
+        Duration providerJitter,
+        double providerErrorRate,
+        int stubPort) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String trimmed = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = trimmed.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            values.put(trimmed.substring(0, separator), trimmed.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                values.remove("target"),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "10s")),
+                Integer.parseInt(values.getOrDefault("users", "10000")),
+                values.getOrDefault("providers", "google,github"),
+                duration(values.getOrDefault("provider-latency", "50ms")),
+                duration(values.getOrDefault("provider-jitter", "20ms")),
+                Double.parseDouble(values.getOrDefault("provider-error-rate", "0")),
+                Integer.parseInt(values.getOrDefault("stub-port", "0")));
+
+        values.keySet().removeAll(Set.of(
+                "concurrency", "duration", "warmup", "users", "providers",
+                "provider-latency", "provider-jitter", "provider-error-rate", "stub-port"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        return options;
+    }
+
+    // Accepts the same shorthand as application.yaml: 500ms, 30s, 2m
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package com.auth.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+// Stands in for Google and GitHub. The authorization code chosen by the driver ("u42") becomes the
+// access token ("token-u42") and from there the provider identity, so each simulated user maps to
+// one stable account and repeated logins exercise the existing-user path.
+@Slf4j
+class OAuthProviderStub implements AutoCloseable {
+
+    private static final String CODE_PREFIX = "u";
+    private static final String TOKEN_PREFIX = "token-";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Duration latency;
+    private final Duration jitter;
+    private final double errorRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    OAuthProviderStub(int port, Duration latency, Duration jitter, double errorRate) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        this.server.setExecutor(executor);
+
+        server.createContext("/google/token", exchange -> handle(exchange, () -> tokenResponse(exchange)));
+        server.createContext("/google/userinfo", exchange -> handle(exchange, () -> googleUserInfo(exchange)));
+        server.createContext("/github/token", exchange -> handle(exchange, () -> tokenResponse(exchange)));
+        server.createContext("/github/user/emails", exchange -> handle(exchange, () -> gitHubEmails(exchange)));
+        server.createContext("/github/user", exchange -> handle(exchange, () -> gitHubUser(exchange)));
+    }
+
+    static String code(int user) {
+        return CODE_PREFIX + user;
+    }
+
+    void start() {
+        server.start();
+        log.info(
+                "OAuth provider stub listening on {} (latency {} ± {}, error rate {})",
+                baseUrl(),
+                latency,
+                jitter,
+                errorRate);
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    long injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange, ResponseBody body) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            simulateLatency();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                write(exchange, 503, "{\"error\":\"temporarily_unavailable\"}");
+                return;
+            }
+            String json = body.render();
+            if (json == null) {
+                write(exchange, 401, "{\"error\":\"invalid_token\"}");
+            } else {
+                write(exchange, 200, json);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        long delayMillis = latency.toMillis();
+        if (!jitter.isZero()) {
+            delayMillis += ThreadLocalRandom.current().nextLong(-jitter.toMillis(), jitter.toMillis() + 1);
+        }
+        if (delayMillis > 0) {
+            Thread.sleep(delayMillis);
+        }
+    }
+
+    private static String tokenResponse(HttpExchange exchange) throws IOException {
+        String code = formValue(exchange.getRequestBody(), "code");
+        if (code == null || !code.startsWith(CODE_PREFIX)) {
+            return null;
+        }
+        return """
+                {"access_token":"%s","token_type":"Bearer","expires_in":3599,"scope":"openid profile email"}"""
+                .formatted(TOKEN_PREFIX + code);
+    }
+
+    private static String googleUserInfo(HttpExchange exchange) {
+        String user = user(exchange);
+        if (user == null) {
+            return null;
+        }
+        return """
+                {"id":"google-%1$s","email":"%1$s@loadtest.example","verified_email":true,\
+                "name":"Load %1$s","given_name":"Load","family_name":"%1$s"}"""
+                .formatted(user);
+    }
+
+    private static String gitHubUser(HttpExchange exchange) {
+        String user = user(exchange);
+        if (user == null) {
+            return null;
+        }
+        return """
+                {"id":%s,"login":"%s","name":"Load %2$s","email":null}"""
+                .formatted(Long.parseLong(user.substring(CODE_PREFIX.length())) + 1, user);
+    }
+
+    private static String gitHubEmails(HttpExchange exchange) {
+        String user = user(exchange);
+        if (user == null) {
+            return null;
+        }
+        return """
+                [{"email":"%1$s@users.noreply.loadtest.example","primary":false,"verified":true},\
+                {"email":"%1$s@loadtest.example","primary":true,"verified":true,"visibility":"private"}]"""
+                .formatted(user);
+    }
+
+    // Resolves "Authorization: Bearer token-u42" back to "u42"
+    private static String user(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String prefix = "Bearer " + TOKEN_PREFIX;
+        if (authorization == null || !authorization.startsWith(prefix)) {
+            return null;
+        }
+        return authorization.substring(prefix.length());
+    }
+
+    private static String formValue(InputStream body, String name) throws IOException {
+        String form = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        for (String pair : form.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void write(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseBody {
+        String render() throws IOException;
+    }
+}
@@ -0,0 +1,42 @@
+package com.auth.audit;
+
+import com.auth.enums.AuthEventOutcome;
+import com.auth.enums.AuthEventType;
+import com.auth.enums.AuthProvider;
+import java.time.Instant;
+import java.util.regex.Pattern;
+
+public record AuthEvent(
+        Instant occurredAt,
+        AuthEventType eventType,
+        AuthEventOutcome outcome,
+        Long userId,
+        String email,
+        String provider,
+        String clientIp) {
+
+    private static final Pattern IP_ADDRESS = Pattern.compile("[0-9A-Fa-f.:]{2,45}");
+    private static final int MAX_EMAIL_LENGTH = 255;
+
+    // Values come straight from the request; anything the columns would reject (an IP that fails the
+    // INET cast, an email over VARCHAR(255)) is cleaned here rather than failing the insert
+    public AuthEvent {
+        if (clientIp != null && !IP_ADDRESS.matcher(clientIp).matches()) {
+            clientIp = null;
+        }
+        if (email != null && email.length() > MAX_EMAIL_LENGTH) {
+            email = email.substring(0, MAX_EMAIL_LENGTH);
+        }
+    }
+
+    public static AuthEvent passwordLogin(AuthEventOutcome outcome, Long userId, String email, String clientIp) {
+        return new AuthEvent(
+                Instant.now(), AuthEventType.PASSWORD_LOGIN, outcome, userId, email, "LOCAL", clientIp);
+    }
+
+    public static AuthEvent oauthLogin(
+            AuthEventOutcome outcome, Long userId, String email, AuthProvider provider, String clientIp) {
+        return new AuthEvent(
+                Instant.now(), AuthEventType.OAUTH_LOGIN, outcome, userId, email, provider.name(), clientIp);
+    }
+}
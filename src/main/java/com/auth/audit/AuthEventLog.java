@@ -0,0 +1,188 @@
+package com.auth.audit;
+
+import com.auth.config.AuditProperties;
+import com.auth.dto.AuthEventResponse;
+import com.auth.enums.AuthEventOutcome;
+import com.auth.enums.AuthEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Login paths only enqueue; one background thread drains the queue and writes batches, so an
+// audit insert never sits on a login's latency. When the queue is full the new event is dropped
+// and counted (auth.events.dropped) rather than blocking the caller. A batch that fails to insert is
+// retried row by row once, so one bad row cannot take its neighbours with it; rows that still fail
+// are dropped and counted (auth.events.failed) rather than retried into a growing backlog.
+@Slf4j
+@Component
+public class AuthEventLog {
+
+    private static final String INSERT_SQL =
+            """
+            INSERT INTO auth_events (occurred_at, event_type, outcome, user_id, email, provider, client_ip)
+            VALUES (?, ?, ?, ?, ?, ?, CAST(? AS INET))
+            """;
+
+    private static final long DROP_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AuthEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Thread flusher;
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private final AtomicLong lastDropWarning = new AtomicLong(System.nanoTime() - DROP_WARNING_INTERVAL_NANOS);
+
+    private volatile boolean running = true;
+
+    public AuthEventLog(JdbcTemplate jdbcTemplate, AuditProperties auditProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(auditProperties.getQueueCapacity());
+        this.batchSize = auditProperties.getBatchSize();
+        this.flushIntervalNanos = auditProperties.getFlushInterval().toNanos();
+
+        Gauge.builder("auth.events.queue.size", queue, BlockingQueue::size)
+                .description("Auth events waiting to be written")
+                .register(meterRegistry);
+        this.recorded = Counter.builder("auth.events.recorded").register(meterRegistry);
+        this.dropped = Counter.builder("auth.events.dropped")
+                .description("Auth events discarded because the queue was full")
+                .register(meterRegistry);
+        this.written = Counter.builder("auth.events.written").register(meterRegistry);
+        this.failed = Counter.builder("auth.events.failed")
+                .description("Auth events discarded because their insert failed")
+                .register(meterRegistry);
+
+        this.flusher = Thread.ofPlatform().name("auth-event-flusher").daemon(true).start(this::run);
+    }
+
+    // Never blocks
+    public void record(AuthEvent event) {
+        if (queue.offer(event)) {
+            recorded.increment();
+            return;
+        }
+        dropped.increment();
+        long now = System.nanoTime();
+        long last = lastDropWarning.get();
+        if (now - last >= DROP_WARNING_INTERVAL_NANOS && lastDropWarning.compareAndSet(last, now)) {
+            log.warn("Auth event queue full, dropping events (total dropped: {})", (long) dropped.count());
+        }
+    }
+
+    public List<AuthEventResponse> findRecentByUser(Long userId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT occurred_at, event_type, outcome, email, provider, host(client_ip) AS client_ip"
+                        + " FROM auth_events WHERE user_id = ? ORDER BY occurred_at DESC LIMIT ?",
+                (rs, rowNum) -> AuthEventResponse.builder()
+                        .occurredAt(rs.getTimestamp("occurred_at").toInstant())
+                        .eventType(AuthEventType.valueOf(rs.getString("event_type")))
+                        .outcome(AuthEventOutcome.valueOf(rs.getString("outcome")))
+                        .email(rs.getString("email"))
+                        .provider(rs.getString("provider"))
+                        .clientIp(rs.getString("client_ip"))
+                        .build(),
+                userId,
+                limit);
+    }
+
+    // Writes whatever is still queued before the datasource shuts down
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        List<AuthEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void run() {
+        List<AuthEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // Wait for the first event, then give the batch up to flushInterval to fill
+                AuthEvent first = queue.take();
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) == 0) {
+                        long remaining = deadline - System.nanoTime();
+                        AuthEvent next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                if (running) {
+                    continue;
+                }
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuthEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // Sent as one multi-row insert thanks to reWriteBatchedInserts on the datasource URL
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), AuthEventLog::bind);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write a batch of {} auth events, retrying them one by one", batch.size(), e);
+            writeEach(batch);
+        }
+    }
+
+    private void writeEach(List<AuthEvent> batch) {
+        int rejected = 0;
+        RuntimeException lastError = null;
+        for (AuthEvent event : batch) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, event));
+                written.increment();
+            } catch (RuntimeException e) {
+                rejected++;
+                lastError = e;
+            }
+        }
+        if (rejected > 0) {
+            failed.increment(rejected);
+            log.error("Dropped {} of {} auth events that could not be written", rejected, batch.size(), lastError);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, AuthEvent event) throws SQLException {
+        ps.setTimestamp(1, Timestamp.from(event.occurredAt()));
+        ps.setString(2, event.eventType().name());
+        ps.setString(3, event.outcome().name());
+        ps.setObject(4, event.userId(), Types.BIGINT);
+        ps.setString(5, event.email());
+        ps.setString(6, event.provider());
+        ps.setString(7, event.clientIp());
+    }
+}
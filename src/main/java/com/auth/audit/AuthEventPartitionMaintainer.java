@@ -0,0 +1,86 @@
+package com.auth.audit;
+
+import com.auth.config.AuditProperties;
+import jakarta.annotation.PostConstruct;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// auth_events has one partition per UTC month. Partitions are created ahead of time, and
+// retention drops whole partitions instead of deleting rows.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthEventPartitionMaintainer {
+
+    private static final String PARTITION_PREFIX = "auth_events_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditProperties auditProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    // Runs before the first event can be flushed, so the current month always has a partition
+    @PostConstruct
+    @Scheduled(cron = "0 0 3 * * *") // Run daily at 03:00
+    public void maintainPartitions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Replicas starting together would otherwise race on the catalog and fail startup;
+            // the lock serializes them and is released at commit
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext('auth_events_partitions'))");
+            YearMonth current = YearMonth.now(ZoneOffset.UTC);
+            for (int i = 0; i <= auditProperties.getPartitionsAhead(); i++) {
+                createPartition(current.plusMonths(i));
+            }
+            dropPartitionsBefore(current.minusMonths(auditProperties.getRetentionMonths() - 1L));
+        });
+    }
+
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                + " PARTITION OF auth_events FOR VALUES FROM ('" + month.atDay(1) + " 00:00:00+00') TO ('"
+                + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+    }
+
+    private void dropPartitionsBefore(YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i"
+                        + " JOIN pg_class c ON c.oid = i.inhrelid"
+                        + " JOIN pg_class p ON p.oid = i.inhparent"
+                        + " WHERE p.relname = 'auth_events'",
+                String.class);
+        for (String partition : partitions) {
+            YearMonth month = monthOf(partition);
+            if (month != null && month.isBefore(oldestKept)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info(
+                        "Dropped auth event partition {} (retention {} months)",
+                        partition,
+                        auditProperties.getRetentionMonths());
+            }
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
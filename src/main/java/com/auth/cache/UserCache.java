@@ -0,0 +1,170 @@
+package com.auth.cache;
+
+import com.auth.config.UserProperties;
+import com.auth.dto.UserCacheStats;
+import com.auth.dto.UserResponse;
+import com.auth.util.EmailUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Component
+public class UserCache {
+
+    private final Cache<Long, UserResponse> usersById;
+    private final Cache<String, Long> idsByEmail;
+
+    // Bumped before every eviction; loads that raced with an eviction are not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserCache(UserProperties userProperties) {
+        UserProperties.CacheProperties properties = userProperties.getCache();
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        this.idsByEmail = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .build();
+    }
+
+    // The loader runs outside the map's compute: a JDBC call under its bin lock would pin a virtual
+    // thread's carrier and block other keys in the bin. The generation check covers the eviction race.
+    public UserResponse getById(Long id, Function<Long, UserResponse> loader) {
+        UserResponse cached = usersById.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        UserResponse user = loader.apply(id);
+        putIfCurrent(user, loadGeneration);
+        return user;
+    }
+
+    public UserResponse getByEmail(String email, Function<String, UserResponse> loader) {
+        UserResponse cached = getIfPresentByEmail(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        UserResponse user = loader.apply(email);
+        putIfCurrent(user, loadGeneration);
+        return user;
+    }
+
+    // Misses are loaded in one call; as with getByEmail, loads that raced with an eviction are not stored
+    public Map<Long, UserResponse> getAllById(
+            Collection<Long> ids, Function<Set<Long>, ? extends Collection<UserResponse>> loader) {
+        Map<Long, UserResponse> users = new HashMap<>(usersById.getAllPresent(ids));
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        missing.removeAll(users.keySet());
+        if (!missing.isEmpty()) {
+            long loadGeneration = generation.get();
+            for (UserResponse user : loader.apply(missing)) {
+                users.put(user.getId(), user);
+                putIfCurrent(user, loadGeneration);
+            }
+        }
+        return users;
+    }
+
+    // Keys are normalized emails
+    public Map<String, UserResponse> getAllByEmail(
+            Collection<String> emails, Function<Set<String>, ? extends Collection<UserResponse>> loader) {
+        Map<String, UserResponse> users = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String key : emails) {
+            UserResponse cached = getIfPresentByEmail(key);
+            if (cached != null) {
+                users.put(key, cached);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long loadGeneration = generation.get();
+            for (UserResponse user : loader.apply(missing)) {
+                users.put(EmailUtils.normalize(user.getEmail()), user);
+                putIfCurrent(user, loadGeneration);
+            }
+        }
+        return users;
+    }
+
+    public UserResponse getIfPresent(Long id) {
+        return usersById.getIfPresent(id);
+    }
+
+    public UserResponse getIfPresentByEmail(String email) {
+        String key = EmailUtils.normalize(email);
+        Long id = idsByEmail.getIfPresent(key);
+        UserResponse cached = id != null ? usersById.getIfPresent(id) : null;
+        return cached != null && key.equals(EmailUtils.normalize(cached.getEmail())) ? cached : null;
+    }
+
+    public void put(UserResponse user) {
+        long putGeneration = generation.get();
+        afterCommit(() -> putIfCurrent(user, putGeneration));
+    }
+
+    // Evicts after the surrounding transaction commits, so readers cannot re-cache pre-commit rows
+    public void evict(Long id, String email) {
+        afterCommit(() -> evictNow(id, email));
+    }
+
+    public UserCacheStats stats() {
+        CacheStats stats = usersById.stats();
+        return UserCacheStats.builder()
+                .size(usersById.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+
+    private void putIfCurrent(UserResponse user, long loadGeneration) {
+        usersById.asMap().compute(user.getId(), (id, existing) -> generation.get() == loadGeneration ? user : existing);
+        idsByEmail.put(EmailUtils.normalize(user.getEmail()), user.getId());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void evictNow(Long id, String email) {
+        generation.incrementAndGet();
+        if (id != null) {
+            usersById.invalidate(id);
+        }
+        if (email != null) {
+            idsByEmail.invalidate(EmailUtils.normalize(email));
+        }
+        log.debug("Evicted cached user id: {}, email: {}", id, email);
+    }
+}
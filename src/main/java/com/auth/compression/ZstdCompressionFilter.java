@@ -0,0 +1,106 @@
+package com.auth.compression;
+
+import com.auth.config.CompressionProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+// Encodes responses with zstd for clients that accept it. Tomcat only does gzip, and skips responses
+// that already carry a Content-Encoding, so gzip remains the fallback for everyone else.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "compression.zstd", name = "enabled", havingValue = "true")
+public class ZstdCompressionFilter extends OncePerRequestFilter {
+
+    static final String ZSTD = "zstd";
+
+    private final int level;
+    private final int minResponseSize;
+    private final Set<String> mimeTypes;
+
+    public ZstdCompressionFilter(CompressionProperties compressionProperties) {
+        CompressionProperties.ZstdProperties properties = compressionProperties.getZstd();
+        this.level = properties.getLevel();
+        this.minResponseSize = (int) properties.getMinResponseSize().toBytes();
+        this.mimeTypes = properties.getMimeTypes().stream()
+                .map(MediaType::parseMediaType)
+                .map(type -> type.getType() + "/" + type.getSubtype())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    // The wrapper has to see the async dispatch too, to finish the frame after a streamed body
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ZstdResponseWrapper wrapper = WebUtils.getNativeResponse(response, ZstdResponseWrapper.class);
+        if (wrapper == null) {
+            if (!acceptsZstd(request)) {
+                chain.doFilter(request, response);
+                return;
+            }
+            wrapper = new ZstdResponseWrapper(response, level, minResponseSize, this::isCompressible);
+        }
+
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                wrapper.finish();
+            }
+        }
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mimeTypes.contains(mediaType.getType() + "/" + mediaType.getSubtype());
+    }
+
+    private static boolean acceptsZstd(HttpServletRequest request) {
+        List<String> headers = Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING));
+        for (String header : headers) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.split(";");
+                if (parts[0].trim().equalsIgnoreCase(ZSTD) && !hasZeroQuality(parts)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasZeroQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,215 @@
+package com.auth.compression;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.function.Predicate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StreamUtils;
+
+// Buffers the body until it reaches the size threshold, then decides once: zstd for a compressible
+// content type, otherwise pass-through. Bodies that end below the threshold are sent as they are.
+class ZstdResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int level;
+    private final int minResponseSize;
+    private final Predicate<String> compressible;
+
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private OutputStream target;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private long contentLength = -1;
+
+    ZstdResponseWrapper(
+            HttpServletResponse response, int level, int minResponseSize, Predicate<String> compressible) {
+        super(response);
+        this.level = level;
+        this.minResponseSize = minResponseSize;
+        this.compressible = compressible;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        if (outputStream == null) {
+            outputStream = new BodyStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            outputStream = new BodyStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    // Held back until the encoding is decided; a compressed body has a different length
+    @Override
+    public void setContentLength(int length) {
+        contentLength = length;
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        contentLength = length;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (target != null) {
+            target.flush();
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (target == null) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (target == null) {
+            buffer.reset();
+            contentLength = -1;
+        }
+        super.reset();
+    }
+
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (target == null) {
+            start(false);
+        }
+        if (target instanceof ZstdOutputStream zstd) {
+            // Writes the end of the frame; the servlet stream itself is left to the container
+            zstd.close();
+        }
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        // Known not to be compressed (event streams, for one), so nothing is held back
+        if (target == null && !compressible.test(getContentType())) {
+            passThrough(false);
+        }
+        if (target != null) {
+            target.write(bytes, offset, length);
+            return;
+        }
+        buffer.write(bytes, offset, length);
+        if (buffer.size() >= minResponseSize) {
+            start(true);
+        }
+    }
+
+    private void start(boolean overThreshold) throws IOException {
+        String contentType = getContentType();
+        if (compressible.test(contentType)) {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (overThreshold && getHeader(HttpHeaders.CONTENT_ENCODING) == null && hasBody()) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, ZstdCompressionFilter.ZSTD);
+                weakenETag(response);
+                target = new ZstdOutputStream(StreamUtils.nonClosing(super.getOutputStream()), level);
+                buffer.writeTo(target);
+                buffer = null;
+                return;
+            }
+        }
+        passThrough(!overThreshold);
+    }
+
+    private void passThrough(boolean complete) throws IOException {
+        if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        } else if (complete) {
+            super.setContentLengthLong(buffer.size());
+        }
+        target = super.getOutputStream();
+        buffer.writeTo(target);
+        buffer = null;
+    }
+
+    private boolean hasBody() {
+        int status = getStatus();
+        return status != HttpStatus.NO_CONTENT.value() && status != HttpStatus.NOT_MODIFIED.value();
+    }
+
+    // A strong ETag promises identical bytes, which the encoded body no longer is
+    private void weakenETag(HttpServletResponse response) {
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            response.setHeader(HttpHeaders.ETAG, "W/" + etag);
+        }
+    }
+
+    private class BodyStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            ZstdResponseWrapper.this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            ZstdResponseWrapper.this.write(bytes, offset, length);
+        }
+
+        // Before the threshold there is nothing to flush yet: a small body stays eligible for
+        // Content-Length, and a large one starts compressing as soon as it crosses the threshold
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return !(target instanceof ServletOutputStream servletStream) || servletStream.isReady();
+        }
+
+        // Readiness has to come from the container's stream, which a compressing stream in between
+        // cannot report, so a non-blocking response is sent unencoded
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                if (target == null) {
+                    passThrough(false);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!(target instanceof ServletOutputStream servletStream)) {
+                throw new IllegalStateException("Non-blocking writes cannot start once the body is zstd-encoded");
+            }
+            servletStream.setWriteListener(writeListener);
+        }
+    }
+}
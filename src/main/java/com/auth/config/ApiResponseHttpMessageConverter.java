@@ -0,0 +1,81 @@
+package com.auth.config;
+
+import com.auth.dto.ApiResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+// Writes successful ApiResponse envelopes as a cached, pre-encoded prefix per message, then only the
+// data through Jackson, then a constant suffix. Output is byte-for-byte what Jackson writes for the
+// whole envelope. Error responses, whose messages vary, are serialized normally.
+public class ApiResponseHttpMessageConverter extends AbstractHttpMessageConverter<ApiResponse<?>> {
+
+    // Success messages are constants, so this stays small; the cap only guards against a dynamic one
+    private static final int MAX_CACHED_MESSAGES = 256;
+    private static final byte[] SUFFIX = ",\"error\":null}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final Map<String, byte[]> prefixes = new ConcurrentHashMap<>();
+
+    public ApiResponseHttpMessageConverter(ObjectMapper objectMapper) {
+        // No default charset: JSON is always UTF-8, and Jackson's converter sends plain application/json
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer();
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ApiResponse<?> readInternal(Class<? extends ApiResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiResponse is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ApiResponse<?> response, HttpOutputMessage outputMessage) throws IOException {
+        // Jackson would otherwise close the response stream after the data value
+        OutputStream body = StreamUtils.nonClosing(outputMessage.getBody());
+        if (!response.isSuccess() || response.getError() != null || response.getMessage() == null) {
+            writer.writeValue(body, response);
+            return;
+        }
+        body.write(prefix(response.getMessage()));
+        writer.writeValue(body, response.getData());
+        body.write(SUFFIX);
+    }
+
+    private byte[] prefix(String message) {
+        byte[] prefix = prefixes.get(message);
+        if (prefix == null) {
+            prefix = encodePrefix(message);
+            if (prefixes.size() < MAX_CACHED_MESSAGES) {
+                prefixes.putIfAbsent(message, prefix);
+            }
+        }
+        return prefix;
+    }
+
+    private byte[] encodePrefix(String message) {
+        return ("{\"success\":true,\"message\":" + objectMapper.writeValueAsString(message) + ",\"data\":")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,18 @@
+package com.auth.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+
+    private int queueCapacity;
+    private int batchSize;
+    private Duration flushInterval;
+    private int partitionsAhead;
+    private int retentionMonths;
+}
@@ -0,0 +1,23 @@
+package com.auth.config;
+
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "compression")
+public class CompressionProperties {
+
+    private ZstdProperties zstd;
+
+    @Data
+    public static class ZstdProperties {
+        private boolean enabled;
+        private int level;
+        private DataSize minResponseSize;
+        private List<String> mimeTypes;
+    }
+}
@@ -1,5 +1,6 @@
 package com.auth.config;
 
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -12,6 +13,7 @@ public class OAuthProperties {
     private GoogleProperties google;
     private GitHubProperties github;
     private CookieProperties cookie;
+    private StateStoreProperties stateStore;
     private String frontendRedirectUrl;
 
     @Data
@@ -23,6 +25,7 @@ public class OAuthProperties {
         private String tokenUri;
         private String userInfoUri;
         private String scopes;
+        private HttpClientProperties http;
     }
 
     @Data
@@ -35,6 +38,23 @@ public class OAuthProperties {
         private String userInfoUri;
         private String userEmailsUri;
         private String scopes;
+        private HttpClientProperties http;
+    }
+
+    @Data
+    public static class HttpClientProperties {
+        private int maxConnections;
+        private int pendingAcquireMaxCount;
+        private Duration pendingAcquireTimeout;
+        private Duration maxIdleTime;
+        private Duration maxLifeTime;
+        private Duration evictionInterval;
+        private Duration connectTimeout;
+        private Duration responseTimeout;
+        private Duration readTimeout;
+        private Duration writeTimeout;
+        private boolean http2;
+        private boolean compression;
     }
 
     @Data
@@ -44,4 +64,11 @@ public class OAuthProperties {
         private boolean httpOnly;
         private String sameSite;
     }
+
+    @Data
+    public static class StateStoreProperties {
+        private String type;
+        private Duration ttl;
+        private int maxCapacity;
+    }
 }
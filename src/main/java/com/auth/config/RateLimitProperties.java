@@ -0,0 +1,26 @@
+package com.auth.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled;
+    private String backend;
+    private int sketchWidth;
+    private int sketchDepth;
+    private RuleProperties loginPerIp;
+    private RuleProperties loginPerEmail;
+    private RuleProperties oauthPerIp;
+
+    @Data
+    public static class RuleProperties {
+        private int limit;
+        private Duration window;
+    }
+}
@@ -0,0 +1,20 @@
+package com.auth.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "token")
+public class TokenProperties {
+
+    private String issuer;
+    private Duration ttl;
+    private Duration clockSkew;
+    private String signingKey;
+    private String cookieName;
+    private Duration refreshTtl;
+    private String refreshCookieName;
+}
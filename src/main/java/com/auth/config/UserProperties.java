@@ -0,0 +1,61 @@
+package com.auth.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "users")
+public class UserProperties {
+
+    private CacheProperties cache;
+    private BulkImportProperties bulkImport;
+    private PasswordProperties password;
+    private BatchLookupProperties batchLookup;
+    private ChangeFeedProperties changeFeed;
+    private ExportProperties export;
+
+    @Data
+    public static class CacheProperties {
+        private long maximumSize;
+        private Duration timeToLive;
+    }
+
+    @Data
+    public static class BulkImportProperties {
+        private int batchSize;
+        private Duration timeout;
+    }
+
+    @Data
+    public static class PasswordProperties {
+        private int bcryptStrength;
+        private int hashingThreads;
+        private int queueCapacity;
+        private Duration timeout;
+    }
+
+    @Data
+    public static class BatchLookupProperties {
+        private int maxKeys;
+        private int chunkSize;
+    }
+
+    @Data
+    public static class ChangeFeedProperties {
+        private Duration safetyLag;
+        private int batchSize;
+        private Duration pollInterval;
+        private Duration streamTimeout;
+        private Duration sseTimeout;
+        private int maxSubscribers;
+        private Duration tombstoneRetention;
+    }
+
+    @Data
+    public static class ExportProperties {
+        private Duration timeout;
+    }
+}
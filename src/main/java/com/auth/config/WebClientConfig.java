@@ -1,14 +1,62 @@
 package com.auth.config;
 
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import java.util.concurrent.TimeUnit;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
 
+    // Each provider gets its own connection pool, so a slow provider can only exhaust its own connections
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public WebClient googleWebClient(OAuthProperties oAuthProperties) {
+        return buildWebClient("google", oAuthProperties.getGoogle().getHttp());
+    }
+
+    @Bean
+    public WebClient gitHubWebClient(OAuthProperties oAuthProperties) {
+        return buildWebClient("github", oAuthProperties.getGithub().getHttp());
+    }
+
+    private static WebClient buildWebClient(String name, OAuthProperties.HttpClientProperties properties) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(name)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .build();
+
+        // H2 is negotiated through TLS ALPN and falls back to HTTP/1.1 when the provider does not offer it
+        HttpProtocol[] protocols = properties.isHttp2()
+                ? new HttpProtocol[] {HttpProtocol.H2, HttpProtocol.HTTP11}
+                : new HttpProtocol[] {HttpProtocol.HTTP11};
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(protocols)
+                .compress(properties.isCompression())
+                .option(
+                        ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                        Math.toIntExact(properties.getConnectTimeout().toMillis()))
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(properties.getResponseTimeout())
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(
+                                properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(
+                                properties.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)));
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 }
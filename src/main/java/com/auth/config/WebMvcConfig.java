@@ -0,0 +1,33 @@
+package com.auth.config;
+
+import com.auth.ratelimit.RateLimitInterceptor;
+import com.auth.ratelimit.RateLimitRule;
+import com.auth.ratelimit.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.ObjectMapper;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final RateLimiter rateLimiter;
+
+    // Converter beans are placed ahead of the default Jackson converter, so this one handles ApiResponse
+    @Bean
+    public ApiResponseHttpMessageConverter apiResponseHttpMessageConverter(ObjectMapper objectMapper) {
+        return new ApiResponseHttpMessageConverter(objectMapper);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, RateLimitRule.LOGIN_PER_IP))
+                .addPathPatterns("/api/users/login");
+        // Each of these stores a new OAuth state
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, RateLimitRule.OAUTH_PER_IP))
+                .addPathPatterns("/auth/google", "/auth/github", "/auth/google/url", "/auth/github/url");
+    }
+}
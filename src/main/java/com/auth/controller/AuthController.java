@@ -1,22 +1,34 @@
 package com.auth.controller;
 
+import com.auth.audit.AuthEvent;
+import com.auth.audit.AuthEventLog;
 import com.auth.config.OAuthProperties;
 import com.auth.dto.ApiResponse;
 import com.auth.dto.UserResponse;
+import com.auth.dto.oauth.GitHubProfile;
 import com.auth.dto.oauth.GitHubUserInfo;
 import com.auth.dto.oauth.GoogleUserInfo;
 import com.auth.dto.oauth.OAuthTokenResponse;
 import com.auth.dto.oauth.OAuthUrlResponse;
+import com.auth.enums.AuthEventOutcome;
 import com.auth.enums.AuthProvider;
+import com.auth.metrics.AuthMetrics;
+import com.auth.security.TokenService;
+import com.auth.service.SessionService;
 import com.auth.service.UserService;
 import com.auth.service.oauth.GitHubOAuthService;
 import com.auth.service.oauth.GoogleOAuthService;
+import com.auth.service.oauth.OAuthStateData;
 import com.auth.service.oauth.OAuthStateStore;
 import com.auth.util.OAuthUtils;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -34,13 +46,17 @@ public class AuthController {
     private final UserService userService;
     private final OAuthProperties oAuthProperties;
     private final OAuthStateStore oAuthStateStore;
+    private final AuthMetrics authMetrics;
+    private final TokenService tokenService;
+    private final SessionService sessionService;
+    private final AuthEventLog authEventLog;
 
     @GetMapping("/google")
     public void initiateGoogleLogin(HttpServletResponse response) throws IOException {
         String state = OAuthUtils.generateState();
         String codeVerifier = OAuthUtils.generateCodeVerifier();
 
-        // Store state and code verifier in memory store
+        // Store state and code verifier in the state store
         oAuthStateStore.saveState(state, codeVerifier);
 
         String authorizationUrl = googleOAuthService.createAuthorizationUrl(state, codeVerifier);
@@ -50,20 +66,34 @@ public class AuthController {
 
     @GetMapping("/google/callback")
     public void handleGoogleCallback(
-            @RequestParam("code") String code, @RequestParam("state") String state, HttpServletResponse response)
+            @RequestParam("code") String code,
+            @RequestParam("state") String state,
+            HttpServletRequest request,
+            HttpServletResponse response)
             throws IOException {
 
+        // Covers the whole callback, to compare against the provider request and user timers
+        Timer.Sample sample = authMetrics.start();
         try {
             log.debug("Google callback received with state: {}", state);
 
-            // Validate state from memory store
-            if (!oAuthStateStore.isValidState(state)) {
+            // Validate and consume state in one step, so it cannot be replayed
+            Optional<OAuthStateData> stateData = oAuthStateStore.consumeState(state);
+            if (stateData.isEmpty()) {
                 log.error("Invalid or expired OAuth state: {}", state);
+                authEventLog.record(AuthEvent.oauthLogin(
+                        AuthEventOutcome.INVALID_STATE, null, null, AuthProvider.GOOGLE, request.getRemoteAddr()));
                 response.sendRedirect(oAuthProperties.getFrontendRedirectUrl() + "/login?error=invalid_state");
+                authMetrics.stop(
+                        sample,
+                        AuthMetrics.OAUTH_CALLBACK,
+                        AuthMetrics.provider(AuthProvider.GOOGLE),
+                        AuthMetrics.OUTCOME_INVALID_STATE,
+                        null);
                 return;
             }
 
-            String codeVerifier = oAuthStateStore.getCodeVerifier(state);
+            String codeVerifier = stateData.get().codeVerifier();
             log.debug("Retrieved code verifier for state: {}", state);
 
             OAuthTokenResponse tokens = googleOAuthService.exchangeCodeForTokens(code, codeVerifier);
@@ -76,16 +106,35 @@ public class AuthController {
                     AuthProvider.GOOGLE,
                     googleUser.getId());
 
-            // Remove state from store
-            oAuthStateStore.removeState(state);
-
             log.info("Google OAuth successful for user: {}", googleUser.getEmail());
+            authEventLog.record(AuthEvent.oauthLogin(
+                    AuthEventOutcome.SUCCESS,
+                    userResponse.getId(),
+                    userResponse.getEmail(),
+                    AuthProvider.GOOGLE,
+                    request.getRemoteAddr()));
+            sessionService
+                    .cookies(sessionService.startSession(userResponse))
+                    .forEach(cookie -> response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString()));
             response.sendRedirect(oAuthProperties.getFrontendRedirectUrl() + "/api/users/" + userResponse.getId());
+            authMetrics.stop(
+                    sample,
+                    AuthMetrics.OAUTH_CALLBACK,
+                    AuthMetrics.provider(AuthProvider.GOOGLE),
+                    AuthMetrics.OUTCOME_SUCCESS,
+                    null);
 
         } catch (Exception e) {
             log.error("Error handling Google callback", e);
-            oAuthStateStore.removeState(state);
+            authEventLog.record(AuthEvent.oauthLogin(
+                    AuthEventOutcome.ERROR, null, null, AuthProvider.GOOGLE, request.getRemoteAddr()));
             response.sendRedirect(oAuthProperties.getFrontendRedirectUrl() + "/login?error=google_auth_failed");
+            authMetrics.stop(
+                    sample,
+                    AuthMetrics.OAUTH_CALLBACK,
+                    AuthMetrics.provider(AuthProvider.GOOGLE),
+                    AuthMetrics.OUTCOME_FAILURE,
+                    e);
         }
     }
 
@@ -93,7 +142,7 @@ public class AuthController {
     public void initiateGitHubLogin(HttpServletResponse response) throws IOException {
         String state = OAuthUtils.generateState();
 
-        // Store state in memory store (no code verifier for GitHub)
+        // Store state in the state store (no code verifier for GitHub)
         oAuthStateStore.saveState(state, null);
 
         String authorizationUrl = gitHubOAuthService.createAuthorizationUrl(state);
@@ -103,22 +152,36 @@ public class AuthController {
 
     @GetMapping("/github/callback")
     public void handleGitHubCallback(
-            @RequestParam("code") String code, @RequestParam("state") String state, HttpServletResponse response)
+            @RequestParam("code") String code,
+            @RequestParam("state") String state,
+            HttpServletRequest request,
+            HttpServletResponse response)
             throws IOException {
 
+        // Covers the whole callback, to compare against the provider request and user timers
+        Timer.Sample sample = authMetrics.start();
         try {
             log.debug("GitHub callback received with state: {}", state);
 
-            // Validate state from memory store
-            if (!oAuthStateStore.isValidState(state)) {
+            // Validate and consume state in one step, so it cannot be replayed
+            if (oAuthStateStore.consumeState(state).isEmpty()) {
                 log.error("Invalid or expired OAuth state: {}", state);
+                authEventLog.record(AuthEvent.oauthLogin(
+                        AuthEventOutcome.INVALID_STATE, null, null, AuthProvider.GITHUB, request.getRemoteAddr()));
                 response.sendRedirect(oAuthProperties.getFrontendRedirectUrl() + "/login?error=invalid_state");
+                authMetrics.stop(
+                        sample,
+                        AuthMetrics.OAUTH_CALLBACK,
+                        AuthMetrics.provider(AuthProvider.GITHUB),
+                        AuthMetrics.OUTCOME_INVALID_STATE,
+                        null);
                 return;
             }
 
             OAuthTokenResponse tokens = gitHubOAuthService.exchangeCodeForTokens(code);
-            GitHubUserInfo gitHubUser = gitHubOAuthService.getUserInfo(tokens.getAccessToken());
-            String email = gitHubOAuthService.getPrimaryEmail(tokens.getAccessToken());
+            GitHubProfile profile = gitHubOAuthService.getProfile(tokens.getAccessToken());
+            GitHubUserInfo gitHubUser = profile.getUserInfo();
+            String email = profile.getPrimaryEmail();
 
             if (email == null) {
                 email = gitHubUser.getEmail();
@@ -134,16 +197,35 @@ public class AuthController {
             UserResponse userResponse = userService.processOAuthUser(
                     email, firstName, lastName, AuthProvider.GITHUB, String.valueOf(gitHubUser.getId()));
 
-            // Remove state from store
-            oAuthStateStore.removeState(state);
-
             log.info("GitHub OAuth successful for user: {}", email);
+            authEventLog.record(AuthEvent.oauthLogin(
+                    AuthEventOutcome.SUCCESS,
+                    userResponse.getId(),
+                    userResponse.getEmail(),
+                    AuthProvider.GITHUB,
+                    request.getRemoteAddr()));
+            sessionService
+                    .cookies(sessionService.startSession(userResponse))
+                    .forEach(cookie -> response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString()));
             response.sendRedirect(oAuthProperties.getFrontendRedirectUrl() + "/api/users/" + userResponse.getId());
+            authMetrics.stop(
+                    sample,
+                    AuthMetrics.OAUTH_CALLBACK,
+                    AuthMetrics.provider(AuthProvider.GITHUB),
+                    AuthMetrics.OUTCOME_SUCCESS,
+                    null);
 
         } catch (Exception e) {
             log.error("Error handling GitHub callback", e);
-            oAuthStateStore.removeState(state);
+            authEventLog.record(AuthEvent.oauthLogin(
+                    AuthEventOutcome.ERROR, null, null, AuthProvider.GITHUB, request.getRemoteAddr()));
             response.sendRedirect(oAuthProperties.getFrontendRedirectUrl() + "/login?error=github_auth_failed");
+            authMetrics.stop(
+                    sample,
+                    AuthMetrics.OAUTH_CALLBACK,
+                    AuthMetrics.provider(AuthProvider.GITHUB),
+                    AuthMetrics.OUTCOME_FAILURE,
+                    e);
         }
     }
 
@@ -152,7 +234,7 @@ public class AuthController {
         String state = OAuthUtils.generateState();
         String codeVerifier = OAuthUtils.generateCodeVerifier();
 
-        // Store state and code verifier in memory store
+        // Store state and code verifier in the state store
         oAuthStateStore.saveState(state, codeVerifier);
 
         String authorizationUrl = googleOAuthService.createAuthorizationUrl(state, codeVerifier);
@@ -167,7 +249,7 @@ public class AuthController {
     public ResponseEntity<ApiResponse<OAuthUrlResponse>> getGitHubAuthUrl() {
         String state = OAuthUtils.generateState();
 
-        // Store state in memory store
+        // Store state in the state store
         oAuthStateStore.saveState(state, null);
 
         String authorizationUrl = gitHubOAuthService.createAuthorizationUrl(state);
@@ -177,4 +259,11 @@ public class AuthController {
                 "GitHub authorization URL generated",
                 OAuthUrlResponse.builder().authorizationUrl(authorizationUrl).build()));
     }
+
+    // Resolves the caller from the token alone, without touching the database
+    @GetMapping("/me")
+    public ResponseEntity<ApiResponse<UserResponse>> getCurrentUser(HttpServletRequest request) {
+        UserResponse user = tokenService.authenticate(request);
+        return ResponseEntity.ok(ApiResponse.success("Token is valid", user));
+    }
 }
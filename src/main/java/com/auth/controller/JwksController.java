@@ -0,0 +1,25 @@
+package com.auth.controller;
+
+import com.auth.security.TokenService;
+import java.time.Duration;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final TokenService tokenService;
+
+    // Standard JWK Set document rather than an ApiResponse, so JWT libraries can consume it directly
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .body(tokenService.getJwks());
+    }
+}
@@ -0,0 +1,87 @@
+package com.auth.controller;
+
+import com.auth.config.TokenProperties;
+import com.auth.dto.ApiResponse;
+import com.auth.dto.LoginResponse;
+import com.auth.dto.RefreshTokenRequest;
+import com.auth.dto.UserResponse;
+import com.auth.exception.InvalidCredentialsException;
+import com.auth.security.TokenService;
+import com.auth.service.SessionService;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.WebUtils;
+
+@RestController
+@RequestMapping("/auth/token")
+@RequiredArgsConstructor
+public class TokenController {
+
+    private final SessionService sessionService;
+    private final TokenService tokenService;
+    private final TokenProperties tokenProperties;
+
+    // Takes the refresh token from the body or, for browser sessions, from its cookie
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<LoginResponse>> refresh(
+            @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest, HttpServletRequest request) {
+        String refreshToken = resolveRefreshToken(refreshTokenRequest, request);
+        if (refreshToken == null) {
+            throw new InvalidCredentialsException("Missing refresh token");
+        }
+
+        LoginResponse session = sessionService.refresh(refreshToken);
+        boolean fromCookie = refreshTokenRequest == null || refreshTokenRequest.getRefreshToken() == null;
+        if (!fromCookie) {
+            return ResponseEntity.ok(ApiResponse.success("Token refreshed", session));
+        }
+
+        // Cookie sessions get their rotated tokens only as HttpOnly cookies; echoing them in the body
+        // would hand them to any script able to call this endpoint
+        List<ResponseCookie> cookies = sessionService.cookies(session);
+        LoginResponse body = LoginResponse.builder()
+                .user(session.getUser())
+                .tokenType(session.getTokenType())
+                .expiresIn(session.getExpiresIn())
+                .build();
+        return ResponseEntity.ok()
+                .headers(headers -> cookies.forEach(c -> headers.add(HttpHeaders.SET_COOKIE, c.toString())))
+                .body(ApiResponse.success("Token refreshed", body));
+    }
+
+    @PostMapping("/revoke")
+    public ResponseEntity<ApiResponse<Integer>> revoke(
+            @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest, HttpServletRequest request) {
+        String refreshToken = resolveRefreshToken(refreshTokenRequest, request);
+        int revoked = refreshToken != null ? sessionService.logout(refreshToken) : 0;
+        return ResponseEntity.ok()
+                .headers(headers -> sessionService.clearCookies()
+                        .forEach(c -> headers.add(HttpHeaders.SET_COOKIE, c.toString())))
+                .body(ApiResponse.success("Session revoked", revoked));
+    }
+
+    // Signs the caller out everywhere; authenticated by access token
+    @PostMapping("/revoke-all")
+    public ResponseEntity<ApiResponse<Integer>> revokeAll(HttpServletRequest request) {
+        UserResponse user = tokenService.authenticate(request);
+        int revoked = sessionService.revokeAll(user.getId());
+        return ResponseEntity.ok(ApiResponse.success("All sessions revoked", revoked));
+    }
+
+    private String resolveRefreshToken(RefreshTokenRequest refreshTokenRequest, HttpServletRequest request) {
+        if (refreshTokenRequest != null && refreshTokenRequest.getRefreshToken() != null) {
+            return refreshTokenRequest.getRefreshToken();
+        }
+        Cookie cookie = WebUtils.getCookie(request, tokenProperties.getRefreshCookieName());
+        return cookie != null ? cookie.getValue() : null;
+    }
+}
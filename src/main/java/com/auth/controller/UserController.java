@@ -1,21 +1,47 @@
 package com.auth.controller;
 
+import com.auth.config.UserProperties;
 import com.auth.dto.ApiResponse;
+import com.auth.dto.AuthEventResponse;
 import com.auth.dto.LoginRequest;
+import com.auth.dto.LoginResponse;
+import com.auth.dto.UserBatchRequest;
+import com.auth.dto.UserBatchResponse;
+import com.auth.dto.UserCacheStats;
 import com.auth.dto.UserDto;
+import com.auth.dto.UserPageResponse;
 import com.auth.dto.UserResponse;
+import com.auth.dto.UserVersion;
+import com.auth.exception.AccessDeniedException;
+import com.auth.feed.UserChangeFeed;
+import com.auth.feed.UserChangeToken;
+import com.auth.security.TokenService;
+import com.auth.service.SessionService;
+import com.auth.service.UserImportService;
 import com.auth.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/users")
@@ -23,6 +49,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final SessionService sessionService;
+    private final UserChangeFeed userChangeFeed;
+    private final TokenService tokenService;
+    private final ObjectMapper objectMapper;
+    private final UserProperties userProperties;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody UserDto userDto) {
@@ -31,27 +63,145 @@ public class UserController {
                 .body(ApiResponse.success("User registered successfully", userResponse));
     }
 
+    @PostMapping(
+            value = "/import",
+            consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importUsers(
+            HttpServletRequest request, @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) {
+        setStreamTimeout(request, userProperties.getBulkImport().getTimeout());
+        StreamingResponseBody body = outputStream -> userImportService.importUsers(
+                request.getInputStream(), contentType, result -> writeLine(outputStream, result));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
-        UserResponse userResponse = userService.login(loginRequest);
-        return ResponseEntity.ok(ApiResponse.success("Login successful", userResponse));
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        UserResponse userResponse = userService.login(loginRequest, request.getRemoteAddr());
+        LoginResponse loginResponse = sessionService.startSession(userResponse);
+        return ResponseEntity.ok(ApiResponse.success("Login successful", loginResponse));
     }
 
     @GetMapping
-    public ResponseEntity<?> getAllUsers() {
-        List<UserResponse> users = userService.getAllUsers();
-        return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", users));
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit) {
+        UserPageResponse page = userService.getUsersPage(after, limit);
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", page));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(HttpServletRequest request) {
+        setStreamTimeout(request, userProperties.getExport().getTimeout());
+        StreamingResponseBody body = outputStream -> {
+            userService.streamAllUsers(user -> writeLine(outputStream, user));
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Changes since the token (all users without one), ending at the feed's safety lag. The token of
+    // the last line is where the next call picks up.
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserChanges(
+            @RequestParam(required = false) String since, HttpServletRequest request) {
+        // Validated before the response starts, so a bad token is still a normal 400
+        UserChangeToken token = userChangeFeed.parseToken(since);
+        setStreamTimeout(request, userProperties.getChangeFeed().getStreamTimeout());
+        StreamingResponseBody body = outputStream -> {
+            userChangeFeed.forEachChange(token, change -> writeLine(outputStream, change));
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tailUserChanges(
+            @RequestParam(required = false) String since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return userChangeFeed.subscribe(userChangeFeed.parseToken(lastEventId != null ? lastEventId : since));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> getUsersBatch(@RequestBody UserBatchRequest request) {
+        UserBatchResponse batch = userService.getUsersBatch(request);
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", batch));
     }
 
+    // With If-None-Match, an unchanged user is answered with 304 from its version alone. Otherwise the
+    // user is loaded once and the ETag is taken from the object actually returned.
     @GetMapping("/{id}")
-    public ResponseEntity<?> getUserById(@PathVariable Long id) {
+    public ResponseEntity<?> getUserById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = userService.getUserVersion(id).etag();
+            if (matchesAny(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         UserResponse userResponse = userService.getUserById(id);
-        return ResponseEntity.ok(ApiResponse.success("User retrieved successfully", userResponse));
+        return ResponseEntity.ok()
+                .eTag(UserVersion.of(userResponse).etag())
+                .body(ApiResponse.success("User retrieved successfully", userResponse));
+    }
+
+    @GetMapping("/{id}/events")
+    public ResponseEntity<?> getUserEvents(
+            @PathVariable Long id, @RequestParam(required = false) Integer limit, HttpServletRequest request) {
+        // Login history includes client IPs and attempted emails, so only its owner may read it
+        UserResponse caller = tokenService.authenticate(request);
+        if (!caller.getId().equals(id)) {
+            throw new AccessDeniedException("Auth events can only be read by their own user");
+        }
+        List<AuthEventResponse> events = userService.getRecentEvents(id, limit);
+        return ResponseEntity.ok(ApiResponse.success("Auth events retrieved successfully", events));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStats() {
+        UserCacheStats stats = userService.getCacheStats();
+        return ResponseEntity.ok(ApiResponse.success("User cache statistics retrieved successfully", stats));
     }
 
     @GetMapping("/email")
-    public ResponseEntity<?> getUserByEmail(@RequestParam String email) {
+    public ResponseEntity<?> getUserByEmail(
+            @RequestParam String email,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = userService.getUserVersionByEmail(email).etag();
+            if (matchesAny(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         UserResponse userResponse = userService.getUserByEmail(email);
-        return ResponseEntity.ok(ApiResponse.success("User retrieved successfully", userResponse));
+        return ResponseEntity.ok()
+                .eTag(UserVersion.of(userResponse).etag())
+                .body(ApiResponse.success("User retrieved successfully", userResponse));
+    }
+
+    // If-None-Match uses weak comparison, so a W/ prefix (added when a response was compressed) is ignored
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // A StreamingResponseBody runs under the async request's timeout, which would otherwise be the
+    // container default (30s on Tomcat) and cut long streams off mid-way
+    private static void setStreamTimeout(HttpServletRequest request, Duration timeout) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(timeout.toMillis());
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -1,11 +1,14 @@
 package com.auth.dto;
 
 import com.auth.enums.ErrorCode;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+// Order is pinned because ApiResponseHttpMessageConverter writes the envelope in this order
+@JsonPropertyOrder({"success", "message", "data", "error"})
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,13 +19,9 @@ public class ApiResponse<T> {
     private T data;
     private ErrorDetails error;
 
+    // Called on every successful request, so it skips the builder
     public static <T> ApiResponse<T> success(String message, T data) {
-        return ApiResponse.<T>builder()
-                .success(true)
-                .message(message)
-                .data(data)
-                .error(null)
-                .build();
+        return new ApiResponse<>(true, message, data, null);
     }
 
     public static <T> ApiResponse<T> error(ErrorCode errorCode, String errorMessage) {
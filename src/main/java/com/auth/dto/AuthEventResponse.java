@@ -0,0 +1,22 @@
+package com.auth.dto;
+
+import com.auth.enums.AuthEventOutcome;
+import com.auth.enums.AuthEventType;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthEventResponse {
+    private Instant occurredAt;
+    private AuthEventType eventType;
+    private AuthEventOutcome outcome;
+    private String email;
+    private String provider;
+    private String clientIp;
+}
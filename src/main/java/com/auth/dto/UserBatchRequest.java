@@ -0,0 +1,16 @@
+package com.auth.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequest {
+    private List<Long> ids;
+    private List<String> emails;
+}
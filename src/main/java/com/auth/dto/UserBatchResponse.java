@@ -0,0 +1,17 @@
+package com.auth.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchResponse {
+    private List<UserResponse> users;
+    private List<Long> missingIds;
+    private List<String> missingEmails;
+}
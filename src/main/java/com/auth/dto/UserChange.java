@@ -0,0 +1,22 @@
+package com.auth.dto;
+
+import com.auth.enums.UserChangeType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChange {
+    private UserChangeType type;
+    private Long id;
+    // Null for deletes
+    private UserResponse user;
+    private LocalDateTime changedAt;
+    // Pass back as since (or Last-Event-ID) to resume after this change
+    private String token;
+}
@@ -0,0 +1,19 @@
+package com.auth.dto;
+
+import com.auth.enums.ImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResult {
+    private long row;
+    private String email;
+    private ImportStatus status;
+    private Long userId;
+    private String message;
+}
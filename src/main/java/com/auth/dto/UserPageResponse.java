@@ -0,0 +1,18 @@
+package com.auth.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+    private List<UserResponse> users;
+    private int limit;
+    private boolean hasMore;
+    private Long nextCursor;
+}
@@ -0,0 +1,19 @@
+package com.auth.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// What a user's ETag is derived from; loaded on its own so conditional GETs can skip the full read
+public record UserVersion(Long id, LocalDateTime updatedAt) {
+
+    public static UserVersion of(UserResponse user) {
+        return new UserVersion(user.getId(), user.getUpdatedAt());
+    }
+
+    // Strong ETag. Postgres keeps microseconds, so finer digits on a freshly saved entity are dropped
+    // to match the value read back later.
+    public String etag() {
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+        return "\"" + Long.toHexString(id) + "-" + Long.toHexString(micros) + "\"";
+    }
+}
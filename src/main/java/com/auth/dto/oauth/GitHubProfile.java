@@ -0,0 +1,15 @@
+package com.auth.dto.oauth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GitHubProfile {
+    private GitHubUserInfo userInfo;
+    private String primaryEmail;
+}
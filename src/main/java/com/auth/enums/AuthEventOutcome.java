@@ -0,0 +1,9 @@
+package com.auth.enums;
+
+public enum AuthEventOutcome {
+    SUCCESS,
+    UNKNOWN_USER,
+    INVALID_CREDENTIALS,
+    INVALID_STATE,
+    ERROR
+}
@@ -0,0 +1,6 @@
+package com.auth.enums;
+
+public enum AuthEventType {
+    PASSWORD_LOGIN,
+    OAUTH_LOGIN
+}
@@ -1,6 +1,23 @@
 package com.auth.enums;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// The code is what auth_accounts.provider stores; never renumber an existing provider
+@Getter
+@RequiredArgsConstructor
 public enum AuthProvider {
-    GITHUB,
-    GOOGLE
+    GITHUB((short) 1),
+    GOOGLE((short) 2);
+
+    private final short code;
+
+    public static AuthProvider fromCode(short code) {
+        for (AuthProvider provider : values()) {
+            if (provider.code == code) {
+                return provider;
+            }
+        }
+        throw new IllegalArgumentException("Unknown auth provider code: " + code);
+    }
 }
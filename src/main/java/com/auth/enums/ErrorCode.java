@@ -4,8 +4,10 @@ public enum ErrorCode {
     USER_NOT_FOUND,
     USER_ALREADY_EXISTS,
     INVALID_CREDENTIALS,
+    ACCESS_DENIED,
     VALIDATION_ERROR,
     INTERNAL_SERVER_ERROR,
+    TOO_MANY_REQUESTS,
     OAUTH_STATE_MISMATCH,
     OAUTH_TOKEN_EXCHANGE_FAILED,
     OAUTH_USER_INFO_FAILED
@@ -0,0 +1,8 @@
+package com.auth.enums;
+
+public enum ImportStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.auth.enums;
+
+public enum UserChangeType {
+    UPSERT,
+    DELETE
+}
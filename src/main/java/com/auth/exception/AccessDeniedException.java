@@ -0,0 +1,15 @@
+package com.auth.exception;
+
+import com.auth.enums.ErrorCode;
+import lombok.Getter;
+
+@Getter
+public class AccessDeniedException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    public AccessDeniedException(String message) {
+        super(message);
+        this.errorCode = ErrorCode.ACCESS_DENIED;
+    }
+}
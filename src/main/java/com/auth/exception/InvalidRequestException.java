@@ -0,0 +1,15 @@
+package com.auth.exception;
+
+import com.auth.enums.ErrorCode;
+import lombok.Getter;
+
+@Getter
+public class InvalidRequestException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    public InvalidRequestException(String message) {
+        super(message);
+        this.errorCode = ErrorCode.VALIDATION_ERROR;
+    }
+}
@@ -0,0 +1,21 @@
+package com.auth.exception;
+
+import com.auth.enums.ErrorCode;
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message) {
+        this(message, 1);
+    }
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.errorCode = ErrorCode.TOO_MANY_REQUESTS;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,177 @@
+package com.auth.feed;
+
+import com.auth.config.UserProperties;
+import com.auth.dto.UserChange;
+import com.auth.enums.UserChangeType;
+import com.auth.exception.InvalidRequestException;
+import com.auth.exception.TooManyRequestsException;
+import com.auth.repository.UserResponseRowMapper;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Users changed since a token, in (changed_at, id) order: live rows from users, deletes from
+// user_tombstones. Reads stop safetyLag behind now, so a row whose updated_at was taken before a
+// slower transaction committed is not skipped by a consumer that has already moved past it.
+@Slf4j
+@Component
+public class UserChangeFeed {
+
+    private static final String CHANGES_SQL =
+            """
+            SELECT * FROM (
+                SELECT %s, updated_at AS changed_at, FALSE AS deleted
+                FROM users
+                WHERE (updated_at, id) > (?, ?) AND updated_at < ?
+                UNION ALL
+                SELECT user_id, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, deleted_at, TRUE
+                FROM user_tombstones
+                WHERE (deleted_at, user_id) > (?, ?) AND deleted_at < ?
+            ) changes
+            ORDER BY changed_at, id
+            LIMIT ?
+            """.formatted(UserResponseRowMapper.COLUMNS);
+    private static final long HEARTBEAT_NANOS = TimeUnit.SECONDS.toNanos(15);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserProperties.ChangeFeedProperties properties;
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    public UserChangeFeed(JdbcTemplate jdbcTemplate, UserProperties userProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = userProperties.getChangeFeed();
+    }
+
+    // Tokens from before the tombstone horizon could have missed deletes, so they are refused
+    public UserChangeToken parseToken(String token) {
+        UserChangeToken parsed = UserChangeToken.parse(token);
+        if (parsed != UserChangeToken.INITIAL
+                && parsed.changedAt().isBefore(LocalDateTime.now().minus(properties.getTombstoneRetention()))) {
+            throw new InvalidRequestException("Change feed token has expired; resync without a token");
+        }
+        return parsed;
+    }
+
+    // Streams every change up to the safety lag; the transaction lets the driver fetch in batches
+    @Transactional(readOnly = true)
+    public void forEachChange(UserChangeToken since, Consumer<UserChange> consumer) {
+        try (Stream<UserChange> changes = jdbcTemplate.queryForStream(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(CHANGES_SQL);
+                    statement.setFetchSize(properties.getBatchSize());
+                    bind(statement, since, Long.MAX_VALUE);
+                    return statement;
+                },
+                (rs, rowNum) -> toChange(rs))) {
+            changes.forEach(consumer);
+        }
+    }
+
+    public List<UserChange> poll(UserChangeToken since, int limit) {
+        return jdbcTemplate.query(CHANGES_SQL, statement -> bind(statement, since, limit), (rs, rowNum) -> toChange(rs));
+    }
+
+    // Each subscriber polls from its own position on a virtual thread. Event ids are tokens, so a
+    // reconnecting EventSource resumes from Last-Event-ID.
+    public SseEmitter subscribe(UserChangeToken since) {
+        if (subscribers.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscribers.decrementAndGet();
+            throw new TooManyRequestsException("Too many change feed subscribers, please retry shortly");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getSseTimeout().toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+        Thread.ofVirtual().name("user-change-feed").start(() -> tail(emitter, since, open));
+        return emitter;
+    }
+
+    @Scheduled(cron = "0 30 3 * * *") // Run daily at 03:30
+    public void purgeTombstones() {
+        int purged = jdbcTemplate.update(
+                "DELETE FROM user_tombstones WHERE deleted_at < ?",
+                LocalDateTime.now().minus(properties.getTombstoneRetention()));
+        if (purged > 0) {
+            log.info("Purged {} user tombstones", purged);
+        }
+    }
+
+    private void tail(SseEmitter emitter, UserChangeToken since, AtomicBoolean open) {
+        UserChangeToken cursor = since;
+        long lastSent = System.nanoTime();
+        try {
+            while (open.get()) {
+                List<UserChange> changes = poll(cursor, properties.getBatchSize());
+                for (UserChange change : changes) {
+                    emitter.send(SseEmitter.event()
+                            .id(change.getToken())
+                            .name(change.getType().name().toLowerCase(Locale.ROOT))
+                            .data(change, MediaType.APPLICATION_JSON));
+                    cursor = new UserChangeToken(change.getChangedAt(), change.getId());
+                }
+                if (!changes.isEmpty()) {
+                    lastSent = System.nanoTime();
+                } else if (System.nanoTime() - lastSent >= HEARTBEAT_NANOS) {
+                    // Keeps proxies from closing an idle stream
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                    lastSent = System.nanoTime();
+                }
+                if (changes.size() < properties.getBatchSize()) {
+                    Thread.sleep(properties.getPollInterval());
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Change feed subscriber disconnected: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } catch (RuntimeException e) {
+            log.warn("Change feed subscriber failed", e);
+            emitter.completeWithError(e);
+        } finally {
+            subscribers.decrementAndGet();
+        }
+    }
+
+    private void bind(PreparedStatement statement, UserChangeToken since, long limit) throws SQLException {
+        LocalDateTime horizon = LocalDateTime.now().minus(properties.getSafetyLag());
+        statement.setObject(1, since.changedAt());
+        statement.setLong(2, since.id());
+        statement.setObject(3, horizon);
+        statement.setObject(4, since.changedAt());
+        statement.setLong(5, since.id());
+        statement.setObject(6, horizon);
+        statement.setLong(7, limit);
+    }
+
+    private static UserChange toChange(ResultSet rs) throws SQLException {
+        long id = rs.getLong("id");
+        LocalDateTime changedAt = rs.getTimestamp("changed_at").toLocalDateTime();
+        boolean deleted = rs.getBoolean("deleted");
+        return UserChange.builder()
+                .type(deleted ? UserChangeType.DELETE : UserChangeType.UPSERT)
+                .id(id)
+                .user(deleted ? null : UserResponseRowMapper.INSTANCE.mapRow(rs, 0))
+                .changedAt(changedAt)
+                .token(new UserChangeToken(changedAt, id).encode())
+                .build();
+    }
+}
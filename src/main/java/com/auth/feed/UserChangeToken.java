@@ -0,0 +1,32 @@
+package com.auth.feed;
+
+import com.auth.exception.InvalidRequestException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Position in the feed: the last change seen, as (changed_at, id). Encoded as "<micros>-<id>" in hex.
+public record UserChangeToken(LocalDateTime changedAt, long id) {
+
+    public static final UserChangeToken INITIAL = new UserChangeToken(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    public static UserChangeToken parse(String token) {
+        if (token == null || token.isBlank()) {
+            return INITIAL;
+        }
+        int separator = token.indexOf('-');
+        try {
+            long micros = Long.parseLong(token.substring(0, separator), 16);
+            long id = Long.parseLong(token.substring(separator + 1), 16);
+            LocalDateTime changedAt = LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+            return new UserChangeToken(changedAt, id);
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid change feed token: " + token);
+        }
+    }
+
+    public String encode() {
+        long micros = changedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + changedAt.getNano() / 1_000;
+        return Long.toHexString(micros) + "-" + Long.toHexString(id);
+    }
+}
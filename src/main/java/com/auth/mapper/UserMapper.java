@@ -15,6 +15,7 @@ public interface UserMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "authAccounts", ignore = true)
+    @Mapping(target = "emailNormalized", ignore = true)
     User toEntity(UserDto userDto);
 
     UserDto toDto(User user);
@@ -27,5 +28,6 @@ public interface UserMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "authAccounts", ignore = true)
+    @Mapping(target = "emailNormalized", ignore = true)
     void updateEntityFromDto(UserDto userDto, @MappingTarget User user);
 }
@@ -0,0 +1,124 @@
+package com.auth.metrics;
+
+import com.auth.enums.AuthProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// Timers carry an outcome and exception tag so failures show up in their own latency series,
+// the same convention as Spring's http.server.requests
+@Component
+public class AuthMetrics {
+
+    public static final String LOGIN = "auth.login";
+    public static final String REGISTER = "auth.register";
+    public static final String OAUTH_USER = "auth.oauth.user";
+    public static final String OAUTH_CALLBACK = "auth.oauth.callback";
+    public static final String PROVIDER_REQUEST = "auth.oauth.provider.requests";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_FAILURE = "failure";
+    public static final String OUTCOME_INVALID_STATE = "invalid_state";
+
+    private static final String OUTCOME_CANCELLED = "cancelled";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter statesSaved;
+    private final Counter statesAccepted;
+    private final Counter statesRejected;
+    private final Counter statesExpired;
+    private final Counter statesEvicted;
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.statesSaved = Counter.builder("auth.oauth.states.saved")
+                .description("OAuth states issued")
+                .register(meterRegistry);
+        this.statesAccepted = Counter.builder("auth.oauth.states.consumed")
+                .description("OAuth callbacks by state validity")
+                .tag("outcome", "accepted")
+                .register(meterRegistry);
+        this.statesRejected = Counter.builder("auth.oauth.states.consumed")
+                .description("OAuth callbacks by state validity")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        this.statesExpired = Counter.builder("auth.oauth.states.expired")
+                .description("OAuth states removed unused after their TTL")
+                .register(meterRegistry);
+        this.statesEvicted = Counter.builder("auth.oauth.states.evicted")
+                .description("OAuth states dropped early because the store was at capacity")
+                .register(meterRegistry);
+    }
+
+    public static Tags provider(AuthProvider provider) {
+        return Tags.of("provider", provider.name().toLowerCase(Locale.ROOT));
+    }
+
+    public static Tags providerCall(AuthProvider provider, String call) {
+        return provider(provider).and("call", call);
+    }
+
+    public <T> T time(String name, Tags tags, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = action.get();
+            stop(sample, name, tags, OUTCOME_SUCCESS, null);
+            return result;
+        } catch (RuntimeException e) {
+            stop(sample, name, tags, OUTCOME_FAILURE, e);
+            throw e;
+        }
+    }
+
+    // Times from subscription to completion, so the timer covers the HTTP exchange and body decoding
+    public <T> Mono<T> time(String name, Tags tags, Mono<T> source) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doOnSuccess(value -> stop(sample, name, tags, OUTCOME_SUCCESS, null))
+                    .doOnError(error -> stop(sample, name, tags, OUTCOME_FAILURE, error))
+                    .doOnCancel(() -> stop(sample, name, tags, OUTCOME_CANCELLED, null));
+        });
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, String name, Tags tags, String outcome, Throwable error) {
+        sample.stop(Timer.builder(name)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .tag("exception", error != null ? error.getClass().getSimpleName() : NO_EXCEPTION)
+                .register(meterRegistry));
+    }
+
+    public void stateSaved() {
+        statesSaved.increment();
+    }
+
+    public void stateConsumed(boolean accepted) {
+        (accepted ? statesAccepted : statesRejected).increment();
+    }
+
+    public void statesExpired(int count) {
+        statesExpired.increment(count);
+    }
+
+    public void statesEvicted(int count) {
+        statesEvicted.increment(count);
+    }
+
+    public <T> void stateStoreSize(T store, ToDoubleFunction<T> size) {
+        Gauge.builder("auth.oauth.states.size", store, size)
+                .description("OAuth states currently held")
+                .register(meterRegistry);
+    }
+}
@@ -2,9 +2,8 @@ package com.auth.model;
 
 import com.auth.enums.AuthProvider;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -13,6 +12,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import lombok.*;
@@ -26,15 +26,16 @@ import lombok.*;
 public class AuthAccount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auth_accounts_seq")
+    @SequenceGenerator(name = "auth_accounts_seq", sequenceName = "auth_accounts_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Enumerated(EnumType.STRING)
-    @Column(name = "provider", nullable = false, length = 50)
+    @Convert(converter = AuthProviderConverter.class)
+    @Column(name = "provider", nullable = false)
     private AuthProvider provider;
 
     @Column(name = "provider_account_id", nullable = false)
@@ -0,0 +1,19 @@
+package com.auth.model;
+
+import com.auth.enums.AuthProvider;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class AuthProviderConverter implements AttributeConverter<AuthProvider, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(AuthProvider provider) {
+        return provider != null ? provider.getCode() : null;
+    }
+
+    @Override
+    public AuthProvider convertToEntityAttribute(Short code) {
+        return code != null ? AuthProvider.fromCode(code) : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.auth.model;
 
+import com.auth.util.EmailUtils;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -8,6 +9,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -23,7 +25,8 @@ import lombok.*;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false, length = 100)
@@ -35,9 +38,13 @@ public class User {
     @Column(name = "gender", length = 20)
     private String gender;
 
-    @Column(name = "email", nullable = false, unique = true)
+    @Column(name = "email", nullable = false)
     private String email;
 
+    // Lookup key for email, unique; derived from email on every write
+    @Column(name = "email_normalized", nullable = false)
+    private String emailNormalized;
+
     @Column(name = "country_code", length = 10)
     private String countryCode;
 
@@ -61,10 +68,12 @@ public class User {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        emailNormalized = EmailUtils.normalize(email);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        emailNormalized = EmailUtils.normalize(email);
     }
 }
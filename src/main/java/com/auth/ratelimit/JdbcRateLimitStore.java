@@ -0,0 +1,79 @@
+package com.auth.ratelimit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Shared counters for multi-replica deployments. Windows are aligned to wall-clock time so every
+// replica counts into the same row; one round trip increments the current window and reads the
+// previous one.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "rate-limit", name = "backend", havingValue = "jdbc")
+public class JdbcRateLimitStore {
+
+    private static final String HIT_SQL =
+            """
+            WITH hit AS (
+                INSERT INTO rate_limit_counters (bucket_key, window_id, hits, expires_at)
+                VALUES (?, ?, 1, now() + ? * INTERVAL '1 millisecond')
+                ON CONFLICT (bucket_key, window_id) DO UPDATE SET hits = rate_limit_counters.hits + 1
+                RETURNING hits
+            )
+            SELECT (SELECT hits FROM hit) AS current_hits,
+                   COALESCE((SELECT hits FROM rate_limit_counters WHERE bucket_key = ? AND window_id = ?), 0)
+                       AS previous_hits
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    double hit(RateLimitRule rule, String key, Duration window) {
+        long windowMillis = window.toMillis();
+        long now = System.currentTimeMillis();
+        long windowId = now / windowMillis;
+        long bucketKey = bucketKey(rule, key);
+
+        return jdbcTemplate.queryForObject(
+                HIT_SQL,
+                (rs, rowNum) -> {
+                    double overlap = 1.0 - (double) (now - windowId * windowMillis) / windowMillis;
+                    return rs.getInt("current_hits") + rs.getInt("previous_hits") * overlap;
+                },
+                bucketKey,
+                windowId,
+                // Kept until the window after it has also ended
+                (windowId + 2) * windowMillis - now,
+                bucketKey,
+                windowId - 1);
+    }
+
+    @Scheduled(fixedRate = 60000) // Run every minute
+    public void cleanupExpiredCounters() {
+        int removed = jdbcTemplate.update("DELETE FROM rate_limit_counters WHERE expires_at <= now()");
+        if (removed > 0) {
+            log.debug("Removed {} expired rate limit counters", removed);
+        }
+    }
+
+    // Same key on every replica, unlike the in-memory sketch's per-process seed
+    private static long bucketKey(RateLimitRule rule, String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((rule.name() + ':' + key).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
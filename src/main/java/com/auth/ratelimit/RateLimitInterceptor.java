@@ -0,0 +1,20 @@
+package com.auth.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Runs inside the dispatcher, so a rejection is rendered by GlobalExceptionHandler like any other 429
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitRule rule;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        rateLimiter.check(rule, request.getRemoteAddr());
+        return true;
+    }
+}
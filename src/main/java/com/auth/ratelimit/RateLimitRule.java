@@ -0,0 +1,7 @@
+package com.auth.ratelimit;
+
+public enum RateLimitRule {
+    LOGIN_PER_IP,
+    LOGIN_PER_EMAIL,
+    OAUTH_PER_IP
+}
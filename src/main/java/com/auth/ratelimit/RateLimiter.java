@@ -0,0 +1,88 @@
+package com.auth.ratelimit;
+
+import com.auth.config.RateLimitProperties;
+import com.auth.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+// Every check goes through the in-memory sketch first. With the jdbc backend the shared counters
+// are consulted only while this replica's own count is still under the limit, so a flood from one
+// key costs the database at most `limit` updates per window per replica.
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final Map<RateLimitRule, Rule> rules = new EnumMap<>(RateLimitRule.class);
+    private final JdbcRateLimitStore sharedStore;
+
+    public RateLimiter(
+            RateLimitProperties rateLimitProperties,
+            ObjectProvider<JdbcRateLimitStore> sharedStore,
+            MeterRegistry meterRegistry) {
+        this.enabled = rateLimitProperties.isEnabled();
+        this.sharedStore = sharedStore.getIfAvailable();
+
+        register(RateLimitRule.LOGIN_PER_IP, rateLimitProperties.getLoginPerIp(), rateLimitProperties, meterRegistry);
+        register(
+                RateLimitRule.LOGIN_PER_EMAIL,
+                rateLimitProperties.getLoginPerEmail(),
+                rateLimitProperties,
+                meterRegistry);
+        register(RateLimitRule.OAUTH_PER_IP, rateLimitProperties.getOauthPerIp(), rateLimitProperties, meterRegistry);
+    }
+
+    public void check(RateLimitRule rule, String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        Rule limit = rules.get(rule);
+        boolean limited = limit.sketch().hit(key) > limit.limit()
+                || (sharedStore != null && sharedHit(rule, key, limit) > limit.limit());
+        if (limited) {
+            limit.rejected().increment();
+            throw new TooManyRequestsException("Too many attempts, please retry later", limit.retryAfterSeconds());
+        }
+    }
+
+    // Fails open: losing the shared database must not lock every user out
+    private double sharedHit(RateLimitRule rule, String key, Rule limit) {
+        try {
+            return sharedStore.hit(rule, key, limit.window());
+        } catch (DataAccessException e) {
+            log.warn("Shared rate limit check failed for {}, allowing request", rule, e);
+            return 0;
+        }
+    }
+
+    private void register(
+            RateLimitRule rule,
+            RateLimitProperties.RuleProperties properties,
+            RateLimitProperties rateLimitProperties,
+            MeterRegistry meterRegistry) {
+        rules.put(
+                rule,
+                new Rule(
+                        properties.getLimit(),
+                        properties.getWindow(),
+                        Math.max(1, properties.getWindow().toSeconds()),
+                        new SlidingWindowSketch(
+                                rateLimitProperties.getSketchWidth(),
+                                rateLimitProperties.getSketchDepth(),
+                                properties.getWindow().toNanos()),
+                        Counter.builder("auth.rate.limit.rejected")
+                                .tag("rule", rule.name().toLowerCase(Locale.ROOT))
+                                .register(meterRegistry)));
+    }
+
+    private record Rule(
+            int limit, Duration window, long retryAfterSeconds, SlidingWindowSketch sketch, Counter rejected) {}
+}
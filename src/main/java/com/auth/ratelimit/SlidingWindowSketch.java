@@ -0,0 +1,112 @@
+package com.auth.ratelimit;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Approximate per-key hit counts over a sliding window in fixed memory, however many keys are seen.
+// Each window is a count-min sketch (depth rows of width counters); the sliding count is the
+// current window plus the previous one weighted by how much of it still overlaps. Count-min only
+// ever overestimates, so a key can be limited early under heavy load but never late.
+// Everything is atomic array increments: no locks, and no allocation except once per window.
+final class SlidingWindowSketch {
+
+    private final int depth;
+    private final int mask;
+    private final long windowNanos;
+    private final long seed;
+    private final AtomicReference<Window> current;
+
+    SlidingWindowSketch(int width, int depth, long windowNanos) {
+        // Per-process seed, so nobody can craft keys that collide with a victim's counters
+        this(width, depth, windowNanos, new SecureRandom().nextLong(), System.nanoTime());
+    }
+
+    SlidingWindowSketch(int width, int depth, long windowNanos, long seed, long startNanos) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two: " + width);
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.windowNanos = windowNanos;
+        this.seed = seed;
+        this.current = new AtomicReference<>(new Window(windowOf(startNanos), width * depth, null));
+    }
+
+    // Records one hit and returns the sliding-window count including it
+    double hit(String key) {
+        return hit(key, System.nanoTime());
+    }
+
+    double hit(String key, long now) {
+        long windowId = windowOf(now);
+        Window window = window(windowId);
+
+        long hash = hash(key, seed);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int width = mask + 1;
+
+        int currentCount = Integer.MAX_VALUE;
+        int previousCount = Integer.MAX_VALUE;
+        AtomicIntegerArray previous = window.id == windowId ? window.previous : null;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + ((h1 + row * h2) & mask);
+            currentCount = Math.min(currentCount, window.counts.incrementAndGet(index));
+            if (previous != null) {
+                previousCount = Math.min(previousCount, previous.get(index));
+            }
+        }
+        if (previous == null) {
+            return currentCount;
+        }
+        double overlap = 1.0 - (double) (now - windowId * windowNanos) / windowNanos;
+        return currentCount + previousCount * overlap;
+    }
+
+    private Window window(long windowId) {
+        while (true) {
+            Window window = current.get();
+            if (window.id >= windowId) {
+                return window;
+            }
+            // Only the immediately preceding window still overlaps; anything older is dropped
+            AtomicIntegerArray previous = window.id == windowId - 1 ? window.counts : null;
+            Window next = new Window(windowId, window.counts.length(), previous);
+            if (current.compareAndSet(window, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long windowOf(long nanos) {
+        return Math.floorDiv(nanos, windowNanos);
+    }
+
+    // Seeded 64-bit string hash with a murmur3 finalizer
+    static long hash(String key, long seed) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = Long.rotateLeft((h ^ key.charAt(i)) * 0x9E3779B97F4A7C15L, 31);
+        }
+        h ^= key.length();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Window {
+        final long id;
+        final AtomicIntegerArray counts;
+        final AtomicIntegerArray previous;
+
+        Window(long id, int size, AtomicIntegerArray previous) {
+            this.id = id;
+            this.counts = new AtomicIntegerArray(size);
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.auth.repository;
+
+import com.auth.dto.UserResponse;
+import java.util.Collection;
+import java.util.List;
+
+// Bulk lookups for the batch endpoint, in chunks of users.batch-lookup.chunk-size keys per query
+public interface UserBatchRepository {
+
+    List<UserResponse> findResponsesByIds(Collection<Long> ids);
+
+    List<UserResponse> findResponsesByNormalizedEmails(Collection<String> emailsNormalized);
+}
@@ -0,0 +1,43 @@
+package com.auth.repository;
+
+import com.auth.config.UserProperties;
+import com.auth.dto.UserResponse;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// One array parameter per chunk (= ANY(?)) instead of an IN list, so every chunk size shares one plan
+@RequiredArgsConstructor
+public class UserBatchRepositoryImpl implements UserBatchRepository {
+
+    private static final String SELECT_RESPONSE = "SELECT " + UserResponseRowMapper.COLUMNS + " FROM users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserProperties userProperties;
+
+    @Override
+    public List<UserResponse> findResponsesByIds(Collection<Long> ids) {
+        return queryInChunks(SELECT_RESPONSE + " WHERE id = ANY(?)", "bigint", ids);
+    }
+
+    @Override
+    public List<UserResponse> findResponsesByNormalizedEmails(Collection<String> emailsNormalized) {
+        return queryInChunks(SELECT_RESPONSE + " WHERE email_normalized = ANY(?)", "varchar", emailsNormalized);
+    }
+
+    private List<UserResponse> queryInChunks(String sql, String elementType, Collection<?> keys) {
+        List<?> keyList = List.copyOf(keys);
+        int chunkSize = userProperties.getBatchLookup().getChunkSize();
+        List<UserResponse> users = new ArrayList<>(keyList.size());
+        for (int from = 0; from < keyList.size(); from += chunkSize) {
+            Object[] chunk = keyList.subList(from, Math.min(from + chunkSize, keyList.size())).toArray();
+            users.addAll(jdbcTemplate.query(
+                    sql,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf(elementType, chunk)),
+                    UserResponseRowMapper.INSTANCE));
+        }
+        return users;
+    }
+}
@@ -1,21 +1,121 @@
 package com.auth.repository;
 
-import com.auth.enums.AuthProvider;
+import com.auth.dto.UserResponse;
+import com.auth.dto.UserVersion;
 import com.auth.model.User;
+import com.auth.util.EmailUtils;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserBatchRepository {
 
-    Optional<User> findByEmail(String email);
+    // Read paths select straight into UserResponse: no password, no managed entity, no dirty-checking snapshot
+    String SELECT_RESPONSE = "SELECT new com.auth.dto.UserResponse(u.id, u.firstName, u.lastName, u.gender, "
+            + "u.email, u.countryCode, u.phone, u.createdAt, u.updatedAt) FROM User u";
 
-    boolean existsByEmail(String email);
+    // Case-insensitive: every email lookup goes through the unique index on email_normalized
+    default Optional<User> findByEmail(String email) {
+        return findByEmailNormalized(EmailUtils.normalize(email));
+    }
 
+    default boolean existsByEmail(String email) {
+        return existsByEmailNormalized(EmailUtils.normalize(email));
+    }
+
+    Optional<User> findByEmailNormalized(String emailNormalized);
+
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    // Takes and returns normalized emails
+    @Query("SELECT u.emailNormalized FROM User u WHERE u.emailNormalized IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Resolves an OAuth login in one statement: linked account first, then email match, else a new user.
+    // The account link is inserted alongside; both inserts are idempotent under concurrent first logins.
     @Query(
-            "SELECT u FROM User u LEFT JOIN FETCH u.authAccounts a WHERE u.email = :email AND (a IS NULL OR a.provider = :provider)")
-    Optional<User> findByEmailWithAuthProvider(@Param("email") String email, @Param("provider") AuthProvider provider);
+            value =
+                    """
+                    WITH linked AS (
+                        SELECT u.* FROM auth_accounts a JOIN users u ON u.id = a.user_id
+                        WHERE a.provider = :provider AND a.provider_account_id = :providerAccountId
+                    ),
+                    by_email AS (
+                        SELECT u.* FROM users u
+                        WHERE u.email_normalized = :emailNormalized AND NOT EXISTS (SELECT 1 FROM linked)
+                    ),
+                    new_user AS (
+                        INSERT INTO users (first_name, last_name, email, email_normalized)
+                        SELECT :firstName, :lastName, :email, :emailNormalized
+                        WHERE NOT EXISTS (SELECT 1 FROM linked) AND NOT EXISTS (SELECT 1 FROM by_email)
+                        ON CONFLICT (email_normalized) DO NOTHING
+                        RETURNING *
+                    ),
+                    resolved AS (
+                        SELECT * FROM linked
+                        UNION ALL SELECT * FROM by_email
+                        UNION ALL SELECT * FROM new_user
+                    ),
+                    new_link AS (
+                        INSERT INTO auth_accounts (user_id, provider, provider_account_id)
+                        SELECT id, :provider, :providerAccountId FROM resolved
+                        WHERE NOT EXISTS (SELECT 1 FROM linked)
+                        LIMIT 1
+                        ON CONFLICT (provider, provider_account_id) DO NOTHING
+                    )
+                    SELECT * FROM resolved LIMIT 1
+                    """,
+            nativeQuery = true)
+    Optional<User> upsertOAuthUser(
+            @Param("email") String email,
+            @Param("emailNormalized") String emailNormalized,
+            @Param("firstName") String firstName,
+            @Param("lastName") String lastName,
+            @Param("provider") short provider,
+            @Param("providerAccountId") String providerAccountId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    @Query(SELECT_RESPONSE + " WHERE u.id = :id")
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+
+    default Optional<UserResponse> findResponseByEmail(String email) {
+        return findResponseByEmailNormalized(EmailUtils.normalize(email));
+    }
+
+    @Query(SELECT_RESPONSE + " WHERE u.emailNormalized = :emailNormalized")
+    Optional<UserResponse> findResponseByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+
+    @Query("SELECT new com.auth.dto.UserVersion(u.id, u.updatedAt) FROM User u WHERE u.id = :id")
+    Optional<UserVersion> findVersionById(@Param("id") Long id);
+
+    default Optional<UserVersion> findVersionByEmail(String email) {
+        return findVersionByEmailNormalized(EmailUtils.normalize(email));
+    }
+
+    @Query("SELECT new com.auth.dto.UserVersion(u.id, u.updatedAt) FROM User u WHERE u.emailNormalized = :emailNormalized")
+    Optional<UserVersion> findVersionByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+
+    // Keyset page: seeks on the primary key index instead of OFFSET scanning
+    @Query(SELECT_RESPONSE + " WHERE u.id > :after ORDER BY u.id")
+    List<UserResponse> findResponsesAfter(@Param("after") Long after, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_RESPONSE + " ORDER BY u.id")
+    Stream<UserResponse> streamAllResponses();
 }
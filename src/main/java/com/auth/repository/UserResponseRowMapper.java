@@ -0,0 +1,38 @@
+package com.auth.repository;
+
+import com.auth.dto.UserResponse;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import org.springframework.jdbc.core.RowMapper;
+
+// Maps the users columns selected by the JDBC read paths straight into UserResponse
+public final class UserResponseRowMapper implements RowMapper<UserResponse> {
+
+    public static final UserResponseRowMapper INSTANCE = new UserResponseRowMapper();
+
+    public static final String COLUMNS =
+            "id, first_name, last_name, gender, email, country_code, phone, created_at, updated_at";
+
+    private UserResponseRowMapper() {}
+
+    @Override
+    public UserResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return UserResponse.builder()
+                .id(rs.getLong("id"))
+                .firstName(rs.getString("first_name"))
+                .lastName(rs.getString("last_name"))
+                .gender(rs.getString("gender"))
+                .email(rs.getString("email"))
+                .countryCode(rs.getString("country_code"))
+                .phone(rs.getString("phone"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
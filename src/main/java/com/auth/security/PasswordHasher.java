@@ -0,0 +1,151 @@
+package com.auth.security;
+
+import com.auth.config.UserProperties;
+import com.auth.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+// BCrypt work runs on a fixed pool sized to the cores with a bounded queue, so a login storm
+// is turned away with 429 instead of occupying every request thread with hashing.
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final String BCRYPT_PREFIX = "$2";
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public PasswordHasher(UserProperties userProperties) {
+        UserProperties.PasswordProperties properties = userProperties.getPassword();
+        int threads = properties.getHashingThreads() > 0
+                ? properties.getHashingThreads()
+                : Runtime.getRuntime().availableProcessors();
+
+        this.encoder = new BCryptPasswordEncoder(properties.getBcryptStrength());
+        this.timeout = properties.getTimeout();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofPlatform().name("password-hasher-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info(
+                "Password hasher started with {} threads, queue capacity {}, bcrypt strength {}",
+                threads,
+                properties.getQueueCapacity(),
+                properties.getBcryptStrength());
+    }
+
+    public String hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    // Hashes a batch on at most half of the pool so bulk work leaves capacity for logins. Values that
+    // are already bcrypt hashes (e.g. migrated from another system) are kept as they are. Each slice
+    // gets the per-password timeout once for every password in it.
+    public List<String> hashAll(List<String> rawPasswords) {
+        if (rawPasswords.isEmpty()) {
+            return List.of();
+        }
+        int slices = Math.clamp(executor.getMaximumPoolSize() / 2, 1, rawPasswords.size());
+        int sliceSize = (rawPasswords.size() + slices - 1) / slices;
+        long deadline = System.nanoTime() + timeout.multipliedBy(sliceSize).toNanos();
+
+        List<Future<List<String>>> futures = new ArrayList<>(slices);
+        try {
+            for (int from = 0; from < rawPasswords.size(); from += sliceSize) {
+                List<String> slice = rawPasswords.subList(from, Math.min(from + sliceSize, rawPasswords.size()));
+                futures.add(enqueue(() -> slice.stream().map(this::hashUnlessHashed).toList()));
+            }
+
+            List<String> hashes = new ArrayList<>(rawPasswords.size());
+            for (Future<List<String>> future : futures) {
+                hashes.addAll(await(future, Duration.ofNanos(Math.max(0, deadline - System.nanoTime()))));
+            }
+            return hashes;
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (!isHashed(storedPassword)) {
+            // Rows written before hashing was introduced; callers upgrade them via needsRehash
+            return MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8), storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        return submit(() -> encoder.matches(rawPassword, storedPassword));
+    }
+
+    public boolean needsRehash(String storedPassword) {
+        return storedPassword != null && (!isHashed(storedPassword) || encoder.upgradeEncoding(storedPassword));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private String hashUnlessHashed(String password) {
+        if (password == null || BCRYPT_HASH.matcher(password).matches()) {
+            return password;
+        }
+        return encoder.encode(password);
+    }
+
+    private static boolean isHashed(String storedPassword) {
+        return storedPassword.startsWith(BCRYPT_PREFIX);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        return await(enqueue(task), timeout);
+    }
+
+    private <T> Future<T> enqueue(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many concurrent password operations, please retry shortly");
+        }
+    }
+
+    private static <T> T await(Future<T> future, Duration timeout) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new TooManyRequestsException("Password operation timed out, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password operation", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password operation failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.auth.security;
+
+import com.auth.config.TokenProperties;
+import com.auth.exception.InvalidCredentialsException;
+import com.auth.util.OAuthUtils;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Opaque refresh tokens: 32 random bytes handed to the client, their SHA-256 stored. Every
+// statement is a single auto-committed round trip, so row locks last one statement at most.
+@Slf4j
+@Component
+public class RefreshTokenService {
+
+    private static final int PURGE_BATCH_SIZE = 10000;
+
+    // Revokes the presented token and issues its successor in the same family. A concurrent use of
+    // the same token blocks on the row lock, then finds it revoked and falls through to reuse handling.
+    private static final String ROTATE_SQL =
+            """
+            WITH rotated AS (
+                UPDATE refresh_tokens SET revoked_at = now()
+                WHERE token_hash = ? AND revoked_at IS NULL AND expires_at > now()
+                RETURNING user_id, family_id
+            )
+            INSERT INTO refresh_tokens (token_hash, user_id, family_id, expires_at)
+            SELECT ?, user_id, family_id, now() + ? * INTERVAL '1 second' FROM rotated
+            RETURNING user_id
+            """;
+
+    // A revoked token presented again means it was copied: revoke everything descended from its login
+    private static final String REVOKE_REUSED_FAMILY_SQL =
+            """
+            UPDATE refresh_tokens SET revoked_at = now()
+            WHERE family_id = (SELECT family_id FROM refresh_tokens WHERE token_hash = ? AND revoked_at IS NOT NULL)
+              AND revoked_at IS NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlSeconds;
+
+    public RefreshTokenService(JdbcTemplate jdbcTemplate, TokenProperties tokenProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlSeconds = tokenProperties.getRefreshTtl().toSeconds();
+    }
+
+    // Starts a new family; called once per login
+    public String issue(Long userId) {
+        String token = OAuthUtils.generateState();
+        jdbcTemplate.update(
+                "INSERT INTO refresh_tokens (token_hash, user_id, family_id, expires_at)"
+                        + " VALUES (?, ?, ?, now() + ? * INTERVAL '1 second')",
+                hash(token),
+                userId,
+                UUID.randomUUID(),
+                ttlSeconds);
+        return token;
+    }
+
+    public RotatedToken rotate(String token) {
+        byte[] tokenHash = hash(token);
+        if (tokenHash == null) {
+            throw invalidToken();
+        }
+
+        String next = OAuthUtils.generateState();
+        List<Long> userIds = jdbcTemplate.queryForList(ROTATE_SQL, Long.class, tokenHash, hash(next), ttlSeconds);
+        if (!userIds.isEmpty()) {
+            return new RotatedToken(userIds.getFirst(), next);
+        }
+
+        int revoked = jdbcTemplate.update(REVOKE_REUSED_FAMILY_SQL, (Object) tokenHash);
+        if (revoked > 0) {
+            log.warn("Refresh token reuse detected, revoked {} active tokens in its family", revoked);
+        }
+        throw invalidToken();
+    }
+
+    // Logout: ends the login the token belongs to, on every device that shares it
+    public int revokeFamily(String token) {
+        byte[] tokenHash = hash(token);
+        if (tokenHash == null) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "UPDATE refresh_tokens SET revoked_at = now()"
+                        + " WHERE family_id = (SELECT family_id FROM refresh_tokens WHERE token_hash = ?)"
+                        + " AND revoked_at IS NULL",
+                (Object) tokenHash);
+    }
+
+    public int revokeAll(Long userId) {
+        return jdbcTemplate.update(
+                "UPDATE refresh_tokens SET revoked_at = now() WHERE user_id = ? AND revoked_at IS NULL", userId);
+    }
+
+    // Revoked rows are kept until they expire so reuse can still be detected; after that they go,
+    // in bounded batches so the purge never holds many row locks at once
+    @Scheduled(fixedRate = 3600000) // Run every hour
+    public void purgeExpiredTokens() {
+        int removed;
+        int total = 0;
+        do {
+            removed = jdbcTemplate.update(
+                    "DELETE FROM refresh_tokens WHERE id IN"
+                            + " (SELECT id FROM refresh_tokens WHERE expires_at <= now() LIMIT ?)",
+                    PURGE_BATCH_SIZE);
+            total += removed;
+        } while (removed == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            log.debug("Purged {} expired refresh tokens", total);
+        }
+    }
+
+    private static byte[] hash(String token) {
+        byte[] raw = OAuthUtils.decodeKey(token);
+        if (raw == null) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(raw);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static InvalidCredentialsException invalidToken() {
+        return new InvalidCredentialsException("Invalid or expired refresh token");
+    }
+
+    public record RotatedToken(Long userId, String refreshToken) {}
+}
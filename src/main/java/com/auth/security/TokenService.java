@@ -0,0 +1,171 @@
+package com.auth.security;
+
+import com.auth.config.TokenProperties;
+import com.auth.dto.UserResponse;
+import com.auth.exception.InvalidCredentialsException;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.WebUtils;
+
+// ES256 access tokens. The signer, verifier and published key set are built once at startup,
+// so issuing and verifying a token is pure CPU work with no key parsing or database lookup.
+@Slf4j
+@Component
+public class TokenService {
+
+    public static final String TOKEN_TYPE = "Bearer";
+
+    private static final JWSAlgorithm ALGORITHM = JWSAlgorithm.ES256;
+
+    private final String issuer;
+    private final String cookieName;
+    private final Duration ttl;
+    private final Duration clockSkew;
+    private final JWSHeader header;
+    private final JWSSigner signer;
+    private final JWSVerifier verifier;
+    private final Map<String, Object> jwks;
+
+    public TokenService(TokenProperties tokenProperties) {
+        this.issuer = tokenProperties.getIssuer();
+        this.cookieName = tokenProperties.getCookieName();
+        this.ttl = tokenProperties.getTtl();
+        this.clockSkew = tokenProperties.getClockSkew();
+
+        ECKey signingKey = loadSigningKey(tokenProperties.getSigningKey());
+        try {
+            this.signer = new ECDSASigner(signingKey);
+            this.verifier = new ECDSAVerifier(signingKey.toPublicJWK());
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Token signing key is not a usable P-256 key", e);
+        }
+        this.header = new JWSHeader.Builder(ALGORITHM)
+                .type(JOSEObjectType.JWT)
+                .keyID(signingKey.getKeyID())
+                .build();
+        this.jwks = new JWKSet(signingKey.toPublicJWK()).toJSONObject();
+    }
+
+    public String issue(UserResponse user) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(String.valueOf(user.getId()))
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(ttl)))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("email", user.getEmail())
+                .claim("given_name", user.getFirstName())
+                .claim("family_name", user.getLastName())
+                .build();
+
+        SignedJWT jwt = new SignedJWT(header, claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Failed to sign access token", e);
+        }
+        return jwt.serialize();
+    }
+
+    // Identity comes from the claims alone; the token is trusted until it expires
+    public UserResponse verify(String token) {
+        try {
+            SignedJWT jwt = SignedJWT.parse(token);
+            if (!ALGORITHM.equals(jwt.getHeader().getAlgorithm())
+                    || !header.getKeyID().equals(jwt.getHeader().getKeyID())
+                    || !jwt.verify(verifier)) {
+                throw invalidToken();
+            }
+
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            Date expiresAt = claims.getExpirationTime();
+            if (expiresAt == null
+                    || Instant.now().isAfter(expiresAt.toInstant().plus(clockSkew))
+                    || !issuer.equals(claims.getIssuer())) {
+                throw invalidToken();
+            }
+
+            return UserResponse.builder()
+                    .id(Long.valueOf(claims.getSubject()))
+                    .email(claims.getStringClaim("email"))
+                    .firstName(claims.getStringClaim("given_name"))
+                    .lastName(claims.getStringClaim("family_name"))
+                    .build();
+        } catch (ParseException | JOSEException | NumberFormatException e) {
+            throw invalidToken();
+        }
+    }
+
+    // Accepts "Authorization: Bearer ..." from API clients and the cookie set for browser logins
+    public UserResponse authenticate(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String prefix = TOKEN_TYPE + " ";
+        if (authorization != null && authorization.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return verify(authorization.substring(prefix.length()).trim());
+        }
+        Cookie cookie = WebUtils.getCookie(request, cookieName);
+        if (cookie != null) {
+            return verify(cookie.getValue());
+        }
+        throw new InvalidCredentialsException("Missing access token");
+    }
+
+    public long getTtlSeconds() {
+        return ttl.toSeconds();
+    }
+
+    public Map<String, Object> getJwks() {
+        return jwks;
+    }
+
+    private static InvalidCredentialsException invalidToken() {
+        return new InvalidCredentialsException("Invalid or expired token");
+    }
+
+    private static ECKey loadSigningKey(String signingKey) {
+        try {
+            if (StringUtils.hasText(signingKey)) {
+                ECKey key = ECKey.parse(signingKey);
+                if (!key.isPrivate() || !Curve.P_256.equals(key.getCurve()) || key.getKeyID() == null) {
+                    throw new IllegalStateException("token.signing-key must be a private P-256 JWK with a kid");
+                }
+                return key;
+            }
+            // Tokens from other replicas or previous runs will not verify against a generated key
+            log.warn("No token.signing-key configured, generating an ephemeral signing key");
+            return new ECKeyGenerator(Curve.P_256)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(ALGORITHM)
+                    .keyID(UUID.randomUUID().toString())
+                    .generate();
+        } catch (ParseException | JOSEException e) {
+            throw new IllegalStateException("Unable to load token.signing-key", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.auth.service;
+
+import com.auth.config.OAuthProperties;
+import com.auth.config.TokenProperties;
+import com.auth.dto.LoginResponse;
+import com.auth.dto.UserResponse;
+import com.auth.security.RefreshTokenService;
+import com.auth.security.TokenService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class SessionService {
+
+    // The refresh cookie is only ever sent to the token endpoints
+    private static final String REFRESH_COOKIE_PATH = "/auth/token";
+
+    private final TokenService tokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final UserService userService;
+    private final TokenProperties tokenProperties;
+    private final OAuthProperties oAuthProperties;
+
+    public LoginResponse startSession(UserResponse user) {
+        return session(user, refreshTokenService.issue(user.getId()));
+    }
+
+    public LoginResponse refresh(String refreshToken) {
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(refreshToken);
+        return session(userService.getUserById(rotated.userId()), rotated.refreshToken());
+    }
+
+    public int logout(String refreshToken) {
+        return refreshTokenService.revokeFamily(refreshToken);
+    }
+
+    // Existing access tokens stay valid until they expire; only refreshing is cut off
+    public int revokeAll(Long userId) {
+        return refreshTokenService.revokeAll(userId);
+    }
+
+    public List<ResponseCookie> cookies(LoginResponse session) {
+        return List.of(
+                cookie(tokenProperties.getCookieName(), session.getAccessToken(), "/", tokenService.getTtlSeconds()),
+                cookie(
+                        tokenProperties.getRefreshCookieName(),
+                        session.getRefreshToken(),
+                        REFRESH_COOKIE_PATH,
+                        tokenProperties.getRefreshTtl().toSeconds()));
+    }
+
+    public List<ResponseCookie> clearCookies() {
+        return List.of(
+                cookie(tokenProperties.getCookieName(), "", "/", 0),
+                cookie(tokenProperties.getRefreshCookieName(), "", REFRESH_COOKIE_PATH, 0));
+    }
+
+    private LoginResponse session(UserResponse user, String refreshToken) {
+        return LoginResponse.builder()
+                .user(user)
+                .accessToken(tokenService.issue(user))
+                .refreshToken(refreshToken)
+                .tokenType(TokenService.TOKEN_TYPE)
+                .expiresIn(tokenService.getTtlSeconds())
+                .build();
+    }
+
+    private ResponseCookie cookie(String name, String value, String path, long maxAgeSeconds) {
+        OAuthProperties.CookieProperties cookie = oAuthProperties.getCookie();
+        return ResponseCookie.from(name, value)
+                .path(path)
+                .maxAge(maxAgeSeconds)
+                .httpOnly(cookie.isHttpOnly())
+                .secure(cookie.isSecure())
+                .sameSite(cookie.getSameSite())
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.auth.service;
+
+import com.auth.config.UserProperties;
+import com.auth.dto.UserDto;
+import com.auth.dto.UserImportResult;
+import com.auth.enums.ImportStatus;
+import com.auth.exception.InvalidRequestException;
+import com.auth.mapper.UserMapper;
+import com.auth.model.User;
+import com.auth.repository.UserRepository;
+import com.auth.security.PasswordHasher;
+import com.auth.util.EmailUtils;
+import jakarta.persistence.EntityManager;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.csv.CsvMapper;
+import tools.jackson.dataformat.csv.CsvSchema;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PasswordHasher passwordHasher;
+    private final UserProperties userProperties;
+
+    // Reads rows one at a time and commits every batchSize rows, so neither the body nor the
+    // persistence context is ever held in full. Results are handed to the sink as each batch finishes.
+    public void importUsers(InputStream body, MediaType contentType, Consumer<UserImportResult> sink) {
+        int batchSize = userProperties.getBulkImport().getBatchSize();
+        long row = 0;
+        long created = 0;
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+
+        try (MappingIterator<UserDto> rows = openReader(body, contentType)) {
+            while (rows.hasNextValue()) {
+                batch.add(new ImportRow(++row, rows.nextValue()));
+                if (batch.size() == batchSize) {
+                    created += importBatch(batch, sink);
+                    batch.clear();
+                }
+            }
+        } catch (JacksonException e) {
+            // The stream cannot be resynchronised after a malformed row, so report it and stop
+            sink.accept(UserImportResult.builder()
+                    .row(row + 1)
+                    .status(ImportStatus.INVALID)
+                    .message("Unreadable row: " + e.getOriginalMessage())
+                    .build());
+        }
+        if (!batch.isEmpty()) {
+            created += importBatch(batch, sink);
+        }
+
+        log.info("Bulk import finished: {} rows read, {} users created", row, created);
+    }
+
+    private MappingIterator<UserDto> openReader(InputStream body, MediaType contentType) {
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            return CSV_MAPPER
+                    .readerFor(UserDto.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(body);
+        }
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return objectMapper.readerFor(UserDto.class).readValues(body);
+        }
+        throw new InvalidRequestException("Unsupported import content type: " + contentType);
+    }
+
+    private long importBatch(List<ImportRow> batch, Consumer<UserImportResult> sink) {
+        List<UserImportResult> results = new ArrayList<>(batch.size());
+        List<ImportRow> candidates = new ArrayList<>(batch.size());
+        Set<String> batchEmails = new HashSet<>();
+
+        for (ImportRow row : batch) {
+            UserDto user = row.user();
+            if (!StringUtils.hasText(user.getEmail())
+                    || !StringUtils.hasText(user.getFirstName())
+                    || !StringUtils.hasText(user.getLastName())) {
+                results.add(result(row, ImportStatus.INVALID, null, "firstName, lastName and email are required"));
+            } else if (!batchEmails.add(EmailUtils.normalize(user.getEmail()))) {
+                results.add(result(row, ImportStatus.DUPLICATE, null, "Email appears earlier in the import"));
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        long created = 0;
+        if (!candidates.isEmpty()) {
+            try {
+                List<ImportRow> newRows = filterExisting(candidates, results);
+                hashPasswords(newRows);
+                List<UserImportResult> inserted = transactionTemplate.execute(status -> insertBatch(newRows));
+                created = inserted.size();
+                results.addAll(inserted);
+            } catch (RuntimeException e) {
+                log.warn("Bulk import batch starting at row {} failed", candidates.getFirst().row(), e);
+                Set<Long> reportedRows = results.stream()
+                        .map(UserImportResult::getRow)
+                        .collect(Collectors.toSet());
+                for (ImportRow row : candidates) {
+                    if (!reportedRows.contains(row.row())) {
+                        results.add(result(row, ImportStatus.FAILED, null, e.getMessage()));
+                    }
+                }
+            }
+        }
+
+        results.sort((a, b) -> Long.compare(a.getRow(), b.getRow()));
+        results.forEach(sink);
+        return created;
+    }
+
+    private List<ImportRow> filterExisting(List<ImportRow> candidates, List<UserImportResult> results) {
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+                candidates.stream()
+                        .map(row -> EmailUtils.normalize(row.user().getEmail()))
+                        .toList()));
+
+        List<ImportRow> newRows = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (existingEmails.contains(EmailUtils.normalize(row.user().getEmail()))) {
+                results.add(result(row, ImportStatus.DUPLICATE, null, "User with this email already exists"));
+            } else {
+                newRows.add(row);
+            }
+        }
+        return newRows;
+    }
+
+    // Hashed outside the insert transaction so the connection is not held while bcrypt runs
+    private void hashPasswords(List<ImportRow> rows) {
+        List<String> hashes = passwordHasher.hashAll(
+                rows.stream().map(row -> row.user().getPassword()).toList());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).user().setPassword(hashes.get(i));
+        }
+    }
+
+    private List<UserImportResult> insertBatch(List<ImportRow> rows) {
+        List<User> saved = userRepository.saveAll(
+                rows.stream().map(row -> userMapper.toEntity(row.user())).toList());
+        userRepository.flush();
+
+        List<UserImportResult> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < saved.size(); i++) {
+            results.add(result(rows.get(i), ImportStatus.CREATED, saved.get(i).getId(), null));
+        }
+        entityManager.clear();
+        return results;
+    }
+
+    private static UserImportResult result(ImportRow row, ImportStatus status, Long userId, String message) {
+        return UserImportResult.builder()
+                .row(row.row())
+                .email(row.user().getEmail())
+                .status(status)
+                .userId(userId)
+                .message(message)
+                .build();
+    }
+
+    private record ImportRow(long row, UserDto user) {}
+}
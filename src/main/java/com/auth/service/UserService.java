@@ -1,147 +1,290 @@
 package com.auth.service;
 
+import com.auth.audit.AuthEvent;
+import com.auth.audit.AuthEventLog;
+import com.auth.cache.UserCache;
+import com.auth.config.UserProperties;
+import com.auth.dto.AuthEventResponse;
 import com.auth.dto.LoginRequest;
+import com.auth.dto.UserBatchRequest;
+import com.auth.dto.UserBatchResponse;
+import com.auth.dto.UserCacheStats;
 import com.auth.dto.UserDto;
+import com.auth.dto.UserPageResponse;
 import com.auth.dto.UserResponse;
+import com.auth.dto.UserVersion;
+import com.auth.enums.AuthEventOutcome;
 import com.auth.enums.AuthProvider;
+import com.auth.enums.ErrorCode;
 import com.auth.exception.InvalidCredentialsException;
+import com.auth.exception.InvalidRequestException;
+import com.auth.exception.OAuthException;
 import com.auth.exception.ResourceNotFoundException;
 import com.auth.exception.UserAlreadyExistsException;
 import com.auth.mapper.UserMapper;
-import com.auth.model.AuthAccount;
+import com.auth.metrics.AuthMetrics;
 import com.auth.model.User;
-import com.auth.repository.AuthAccountRepository;
+import com.auth.ratelimit.RateLimitRule;
+import com.auth.ratelimit.RateLimiter;
 import com.auth.repository.UserRepository;
+import com.auth.security.PasswordHasher;
+import com.auth.util.EmailUtils;
+import io.micrometer.core.instrument.Tags;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_EVENT_LIMIT = 50;
+    private static final int MAX_EVENT_LIMIT = 500;
+
     private final UserRepository userRepository;
-    private final AuthAccountRepository authAccountRepository;
     private final UserMapper userMapper;
+    private final UserCache userCache;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final AuthMetrics authMetrics;
+    private final AuthEventLog authEventLog;
+    private final RateLimiter rateLimiter;
+    private final UserProperties userProperties;
 
-    @Transactional
     public UserResponse register(UserDto userDto) {
+        return authMetrics.time(AuthMetrics.REGISTER, Tags.empty(), () -> createUser(userDto));
+    }
+
+    public UserResponse login(LoginRequest loginRequest, String clientIp) {
+        // Per account, on top of the per-IP limit, so spreading guesses over many IPs does not help
+        rateLimiter.check(RateLimitRule.LOGIN_PER_EMAIL, EmailUtils.normalize(loginRequest.getEmail()));
+        return authMetrics.time(AuthMetrics.LOGIN, Tags.empty(), () -> authenticate(loginRequest, clientIp));
+    }
+
+    // Not transactional: hashing must not hold a pooled connection, and the unique email
+    // constraint still rejects a concurrent registration that slips past the exists check
+    private UserResponse createUser(UserDto userDto) {
+        if (!StringUtils.hasText(userDto.getPassword())) {
+            throw new InvalidRequestException("Password is required");
+        }
         if (userRepository.existsByEmail(userDto.getEmail())) {
             throw new UserAlreadyExistsException("User with email " + userDto.getEmail() + " already exists");
         }
 
         User user = userMapper.toEntity(userDto);
-        User savedUser = userRepository.save(user);
+        user.setPassword(passwordHasher.hash(userDto.getPassword()));
+
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new UserAlreadyExistsException("User with email " + userDto.getEmail() + " already exists");
+        }
+        userCache.evict(savedUser.getId(), savedUser.getEmail());
         return userMapper.toResponse(savedUser);
     }
 
-    @Transactional(readOnly = true)
-    public UserResponse login(LoginRequest loginRequest) {
-        User user = userRepository
-                .findByEmail(loginRequest.getEmail())
-                .orElseThrow(() -> new ResourceNotFoundException("Invalid email or password"));
+    private UserResponse authenticate(LoginRequest loginRequest, String clientIp) {
+        String email = loginRequest.getEmail();
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            authEventLog.record(AuthEvent.passwordLogin(AuthEventOutcome.UNKNOWN_USER, null, email, clientIp));
+            throw new ResourceNotFoundException("Invalid email or password");
+        }
 
-        if (!user.getPassword().equals(loginRequest.getPassword())) {
+        if (!passwordHasher.matches(loginRequest.getPassword(), user.getPassword())) {
+            authEventLog.record(
+                    AuthEvent.passwordLogin(AuthEventOutcome.INVALID_CREDENTIALS, user.getId(), email, clientIp));
             throw new InvalidCredentialsException("Invalid email or password");
         }
+        authEventLog.record(AuthEvent.passwordLogin(AuthEventOutcome.SUCCESS, user.getId(), email, clientIp));
+
+        // Upgrades plaintext rows and hashes made with an older bcrypt strength
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            userRepository.updatePassword(user.getId(), passwordHasher.hash(loginRequest.getPassword()));
+        }
 
         return userMapper.toResponse(user);
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponse> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return userMapper.toResponseList(users);
+    public UserPageResponse getUsersPage(Long after, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        long cursor = after == null ? 0L : after;
+
+        // Fetch one extra row to know whether another page exists without a count query
+        List<UserResponse> users = userRepository.findResponsesAfter(cursor, Limit.of(pageSize + 1));
+        boolean hasMore = users.size() > pageSize;
+        if (hasMore) {
+            users = users.subList(0, pageSize);
+        }
+
+        return UserPageResponse.builder()
+                .users(users)
+                .limit(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? users.getLast().getId() : null)
+                .build();
     }
 
     @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserResponse> consumer) {
+        // DTOs are never managed, so the persistence context does not grow with the table
+        try (Stream<UserResponse> users = userRepository.streamAllResponses()) {
+            users.forEach(consumer);
+        }
+    }
+
     public UserResponse getUserById(Long id) {
-        User user = userRepository
-                .findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-        return userMapper.toResponse(user);
+        return userCache.getById(id, key -> userRepository
+                .findResponseById(key)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + key)));
     }
 
-    @Transactional(readOnly = true)
     public UserResponse getUserByEmail(String email) {
-        User user = userRepository
-                .findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
-        return userMapper.toResponse(user);
+        return userCache.getByEmail(email, key -> userRepository
+                .findResponseByEmail(key)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + key)));
     }
 
-    @Transactional(readOnly = true)
-    public Optional<User> findUserByEmail(String email) {
-        return userRepository.findByEmail(email);
+    // Only for requests carrying If-None-Match: from the cache when the user is there, otherwise from
+    // a two-column query, so an unchanged user is answered without loading or serializing it
+    public UserVersion getUserVersion(Long id) {
+        UserResponse cached = userCache.getIfPresent(id);
+        if (cached != null) {
+            return UserVersion.of(cached);
+        }
+        return userRepository
+                .findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
-    @Transactional(readOnly = true)
-    public Optional<AuthAccount> findAuthAccount(AuthProvider provider, String providerAccountId) {
-        return authAccountRepository.findByProviderAndProviderAccountId(provider, providerAccountId);
+    public UserVersion getUserVersionByEmail(String email) {
+        UserResponse cached = userCache.getIfPresentByEmail(email);
+        if (cached != null) {
+            return UserVersion.of(cached);
+        }
+        return userRepository
+                .findVersionByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
 
-    @Transactional
-    public AuthAccount createOAuthAccount(User user, AuthProvider provider, String providerAccountId) {
-        AuthAccount authAccount = AuthAccount.builder()
-                .user(user)
-                .provider(provider)
-                .providerAccountId(providerAccountId)
-                .build();
-        return authAccountRepository.save(authAccount);
-    }
+    // Cache first, then one = ANY(?) query per chunk of misses. Users come back in request order
+    // (ids, then emails), each user once, and keys that matched nothing are listed as missing.
+    public UserBatchResponse getUsersBatch(UserBatchRequest request) {
+        List<Long> ids = request.getIds() != null ? request.getIds() : List.of();
+        List<String> emails = request.getEmails() != null ? request.getEmails() : List.of();
+        int maxKeys = userProperties.getBatchLookup().getMaxKeys();
+        if (ids.size() + emails.size() > maxKeys) {
+            throw new InvalidRequestException("At most " + maxKeys + " ids and emails can be looked up at once");
+        }
 
-    @Transactional
-    public UserResponse createUserWithOAuth(
-            String email, String firstName, String lastName, AuthProvider provider, String providerAccountId) {
-        User user = User.builder()
-                .email(email)
-                .firstName(firstName != null ? firstName : "")
-                .lastName(lastName != null ? lastName : "")
-                .password(generateRandomPassword(8)) // Random password for OAuth users
-                .build();
+        Set<Long> requestedIds = new LinkedHashSet<>();
+        ids.stream().filter(Objects::nonNull).forEach(requestedIds::add);
+        // Looked up by normalized email, but reported missing as the caller wrote it
+        Map<String, String> requestedEmails = new LinkedHashMap<>();
+        emails.stream()
+                .filter(StringUtils::hasText)
+                .forEach(email -> requestedEmails.putIfAbsent(EmailUtils.normalize(email), email));
 
-        User savedUser = userRepository.save(user);
+        Map<Long, UserResponse> byId = requestedIds.isEmpty()
+                ? Map.of()
+                : userCache.getAllById(requestedIds, userRepository::findResponsesByIds);
+        Map<String, UserResponse> byEmail = requestedEmails.isEmpty()
+                ? Map.of()
+                : userCache.getAllByEmail(requestedEmails.keySet(), userRepository::findResponsesByNormalizedEmails);
 
-        AuthAccount authAccount = AuthAccount.builder()
-                .user(savedUser)
-                .provider(provider)
-                .providerAccountId(providerAccountId)
+        Map<Long, UserResponse> users = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            UserResponse user = byId.get(id);
+            if (user != null) {
+                users.putIfAbsent(user.getId(), user);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        List<String> missingEmails = new ArrayList<>();
+        for (Map.Entry<String, String> email : requestedEmails.entrySet()) {
+            UserResponse user = byEmail.get(email.getKey());
+            if (user != null) {
+                users.putIfAbsent(user.getId(), user);
+            } else {
+                missingEmails.add(email.getValue());
+            }
+        }
+
+        return UserBatchResponse.builder()
+                .users(List.copyOf(users.values()))
+                .missingIds(missingIds)
+                .missingEmails(missingEmails)
                 .build();
+    }
 
-        authAccountRepository.save(authAccount);
+    public List<AuthEventResponse> getRecentEvents(Long userId, Integer limit) {
+        int eventLimit = limit == null ? DEFAULT_EVENT_LIMIT : Math.clamp(limit, 1, MAX_EVENT_LIMIT);
+        return authEventLog.findRecentByUser(userId, eventLimit);
+    }
 
-        return userMapper.toResponse(savedUser);
+    public UserCacheStats getCacheStats() {
+        return userCache.stats();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    public Optional<User> findUserByEmail(String email) {
+        return userRepository.findByEmail(email);
+    }
+
+    // Timed around the transaction so the commit is part of the measurement
     public UserResponse processOAuthUser(
             String email, String firstName, String lastName, AuthProvider provider, String providerAccountId) {
-        Optional<User> existingUser = userRepository.findByEmail(email);
-
-        if (existingUser.isPresent()) {
-            User user = existingUser.get();
-            Optional<AuthAccount> existingAuthAccount =
-                    authAccountRepository.findByProviderAndProviderAccountId(provider, providerAccountId);
-
-            if (existingAuthAccount.isEmpty()) {
-                createOAuthAccount(user, provider, providerAccountId);
-            }
+        return authMetrics.time(
+                AuthMetrics.OAUTH_USER,
+                AuthMetrics.provider(provider),
+                () -> transactionTemplate.execute(
+                        status -> resolveOAuthUser(email, firstName, lastName, provider, providerAccountId)));
+    }
 
-            return userMapper.toResponse(user);
-        }
+    private UserResponse resolveOAuthUser(
+            String email, String firstName, String lastName, AuthProvider provider, String providerAccountId) {
+        // OAuth users get no local password, so password login is rejected for them
+        User user = upsertOAuthUser(email, firstName, lastName, provider, providerAccountId)
+                // A concurrent first login may commit the user after this statement's snapshot was taken;
+                // the retry runs with a fresh snapshot and sees it
+                .or(() -> upsertOAuthUser(email, firstName, lastName, provider, providerAccountId))
+                .orElseThrow(() -> new OAuthException(
+                        ErrorCode.OAUTH_USER_INFO_FAILED, "Unable to resolve OAuth user with email: " + email));
 
-        return createUserWithOAuth(email, firstName, lastName, provider, providerAccountId);
+        UserResponse userResponse = userMapper.toResponse(user);
+        // Callbacks redirect straight to /api/users/{id}, so warm the cache for that read
+        userCache.put(userResponse);
+        return userResponse;
     }
 
-    private String generateRandomPassword(int length) {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        StringBuilder password = new StringBuilder();
-        java.security.SecureRandom random = new java.security.SecureRandom();
-        for (int i = 0; i < length; i++) {
-            password.append(chars.charAt(random.nextInt(chars.length())));
-        }
-        return password.toString();
+    private Optional<User> upsertOAuthUser(
+            String email, String firstName, String lastName, AuthProvider provider, String providerAccountId) {
+        return userRepository.upsertOAuthUser(
+                email,
+                EmailUtils.normalize(email),
+                firstName != null ? firstName : "",
+                lastName != null ? lastName : "",
+                provider.getCode(),
+                providerAccountId);
     }
 }
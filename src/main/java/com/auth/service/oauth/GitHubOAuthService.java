@@ -2,11 +2,15 @@ package com.auth.service.oauth;
 
 import com.auth.config.OAuthProperties;
 import com.auth.dto.oauth.GitHubEmail;
+import com.auth.dto.oauth.GitHubProfile;
 import com.auth.dto.oauth.GitHubUserInfo;
 import com.auth.dto.oauth.OAuthTokenResponse;
+import com.auth.enums.AuthProvider;
+import com.auth.metrics.AuthMetrics;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -14,6 +18,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Service
@@ -21,7 +26,9 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class GitHubOAuthService {
 
     private final OAuthProperties oAuthProperties;
+    @Qualifier("gitHubWebClient")
     private final WebClient webClient;
+    private final AuthMetrics authMetrics;
 
     public String createAuthorizationUrl(String state) {
         return UriComponentsBuilder.fromUriString(oAuthProperties.getGithub().getAuthUri())
@@ -40,40 +47,58 @@ public class GitHubOAuthService {
         formData.add("code", code);
         formData.add("redirect_uri", oAuthProperties.getGithub().getRedirectUri());
 
-        return webClient
-                .post()
-                .uri(oAuthProperties.getGithub().getTokenUri())
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(BodyInserters.fromFormData(formData))
-                .retrieve()
-                .bodyToMono(OAuthTokenResponse.class)
+        return authMetrics
+                .time(
+                        AuthMetrics.PROVIDER_REQUEST,
+                        AuthMetrics.providerCall(AuthProvider.GITHUB, "token"),
+                        webClient
+                                .post()
+                                .uri(oAuthProperties.getGithub().getTokenUri())
+                                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .body(BodyInserters.fromFormData(formData))
+                                .retrieve()
+                                .bodyToMono(OAuthTokenResponse.class))
                 .block();
     }
 
-    public GitHubUserInfo getUserInfo(String accessToken) {
-        return webClient
-                .get()
-                .uri(oAuthProperties.getGithub().getUserInfoUri())
-                .header("Authorization", "Bearer " + accessToken)
-                .retrieve()
-                .bodyToMono(GitHubUserInfo.class)
+    // Issues the user and emails requests concurrently and waits for both, so a login pays one
+    // GitHub round trip of latency instead of two
+    public GitHubProfile getProfile(String accessToken) {
+        return Mono.zip(userInfo(accessToken), userEmails(accessToken))
+                .map(results -> GitHubProfile.builder()
+                        .userInfo(results.getT1())
+                        .primaryEmail(primaryEmail(results.getT2()))
+                        .build())
                 .block();
     }
 
-    public List<GitHubEmail> getUserEmails(String accessToken) {
-        return webClient
-                .get()
-                .uri(oAuthProperties.getGithub().getUserEmailsUri())
-                .header("Authorization", "Bearer " + accessToken)
-                .retrieve()
-                .bodyToFlux(GitHubEmail.class)
-                .collectList()
-                .block();
+    private Mono<GitHubUserInfo> userInfo(String accessToken) {
+        return authMetrics.time(
+                AuthMetrics.PROVIDER_REQUEST,
+                AuthMetrics.providerCall(AuthProvider.GITHUB, "userinfo"),
+                webClient
+                        .get()
+                        .uri(oAuthProperties.getGithub().getUserInfoUri())
+                        .header("Authorization", "Bearer " + accessToken)
+                        .retrieve()
+                        .bodyToMono(GitHubUserInfo.class));
+    }
+
+    private Mono<List<GitHubEmail>> userEmails(String accessToken) {
+        return authMetrics.time(
+                AuthMetrics.PROVIDER_REQUEST,
+                AuthMetrics.providerCall(AuthProvider.GITHUB, "emails"),
+                webClient
+                        .get()
+                        .uri(oAuthProperties.getGithub().getUserEmailsUri())
+                        .header("Authorization", "Bearer " + accessToken)
+                        .retrieve()
+                        .bodyToFlux(GitHubEmail.class)
+                        .collectList());
     }
 
-    public String getPrimaryEmail(String accessToken) {
-        List<GitHubEmail> emails = getUserEmails(accessToken);
+    private static String primaryEmail(List<GitHubEmail> emails) {
         return emails.stream()
                 .filter(GitHubEmail::isPrimary)
                 .findFirst()
@@ -3,9 +3,12 @@ package com.auth.service.oauth;
 import com.auth.config.OAuthProperties;
 import com.auth.dto.oauth.GoogleUserInfo;
 import com.auth.dto.oauth.OAuthTokenResponse;
+import com.auth.enums.AuthProvider;
+import com.auth.metrics.AuthMetrics;
 import com.auth.util.OAuthUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -20,7 +23,9 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class GoogleOAuthService {
 
     private final OAuthProperties oAuthProperties;
+    @Qualifier("googleWebClient")
     private final WebClient webClient;
+    private final AuthMetrics authMetrics;
 
     public String createAuthorizationUrl(String state, String codeVerifier) {
         String codeChallenge = OAuthUtils.generateCodeChallenge(codeVerifier);
@@ -48,23 +53,31 @@ public class GoogleOAuthService {
         formData.add("grant_type", "authorization_code");
         formData.add("redirect_uri", oAuthProperties.getGoogle().getRedirectUri());
 
-        return webClient
-                .post()
-                .uri(oAuthProperties.getGoogle().getTokenUri())
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .body(BodyInserters.fromFormData(formData))
-                .retrieve()
-                .bodyToMono(OAuthTokenResponse.class)
+        return authMetrics
+                .time(
+                        AuthMetrics.PROVIDER_REQUEST,
+                        AuthMetrics.providerCall(AuthProvider.GOOGLE, "token"),
+                        webClient
+                                .post()
+                                .uri(oAuthProperties.getGoogle().getTokenUri())
+                                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                                .body(BodyInserters.fromFormData(formData))
+                                .retrieve()
+                                .bodyToMono(OAuthTokenResponse.class))
                 .block();
     }
 
     public GoogleUserInfo getUserInfo(String accessToken) {
-        return webClient
-                .get()
-                .uri(oAuthProperties.getGoogle().getUserInfoUri())
-                .header("Authorization", "Bearer " + accessToken)
-                .retrieve()
-                .bodyToMono(GoogleUserInfo.class)
+        return authMetrics
+                .time(
+                        AuthMetrics.PROVIDER_REQUEST,
+                        AuthMetrics.providerCall(AuthProvider.GOOGLE, "userinfo"),
+                        webClient
+                                .get()
+                                .uri(oAuthProperties.getGoogle().getUserInfoUri())
+                                .header("Authorization", "Bearer " + accessToken)
+                                .retrieve()
+                                .bodyToMono(GoogleUserInfo.class))
                 .block();
     }
 }
@@ -0,0 +1,143 @@
+package com.auth.service.oauth;
+
+import com.auth.config.OAuthProperties;
+import com.auth.metrics.AuthMetrics;
+import com.auth.util.OAuthUtils;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "oauth.state-store", name = "type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOAuthStateStore implements OAuthStateStore {
+
+    private final Map<StateKey, StateEntry> store = new ConcurrentHashMap<>();
+
+    // Every state has the same TTL, so insertion order is expiry order: the head of this queue is
+    // always the next state to expire and the oldest one to evict. Consumed states stay queued
+    // until they reach the head, which keeps consumption a single map remove.
+    private final Queue<QueuedState> expiryQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    private final long ttlNanos;
+    private final int maxCapacity;
+    private final AuthMetrics authMetrics;
+
+    public InMemoryOAuthStateStore(OAuthProperties oAuthProperties, AuthMetrics authMetrics) {
+        this.ttlNanos = oAuthProperties.getStateStore().getTtl().toNanos();
+        this.maxCapacity = oAuthProperties.getStateStore().getMaxCapacity();
+        this.authMetrics = authMetrics;
+        authMetrics.stateStoreSize(this, InMemoryOAuthStateStore::size);
+    }
+
+    @Override
+    public void saveState(String state, String codeVerifier) {
+        StateKey key = StateKey.of(OAuthUtils.decodeKey(state));
+        if (key == null) {
+            throw new IllegalArgumentException("OAuth state must be a generated 32-byte key");
+        }
+        StateEntry entry = new StateEntry(OAuthUtils.decodeKey(codeVerifier), System.nanoTime() + ttlNanos);
+        store.put(key, entry);
+        expiryQueue.offer(new QueuedState(key, entry));
+        if (queuedCount.incrementAndGet() > maxCapacity) {
+            evictOldest();
+        }
+        authMetrics.stateSaved();
+        log.debug("Saved OAuth state: {}", state);
+    }
+
+    @Override
+    public Optional<OAuthStateData> consumeState(String state) {
+        StateKey key = StateKey.of(OAuthUtils.decodeKey(state));
+        StateEntry entry = key != null ? store.remove(key) : null;
+        if (entry == null || entry.isExpired(System.nanoTime())) {
+            authMetrics.stateConsumed(false);
+            log.debug("OAuth state not found or expired: {}", state);
+            return Optional.empty();
+        }
+        authMetrics.stateConsumed(true);
+        log.debug("Consumed OAuth state: {}", state);
+        return Optional.of(new OAuthStateData(OAuthUtils.encodeKey(entry.codeVerifier())));
+    }
+
+    // Touches only the expired prefix of the queue, not the whole map
+    @Scheduled(fixedRate = 1000)
+    public void cleanupExpiredStates() {
+        long now = System.nanoTime();
+        int expired = 0;
+        drainLock.lock();
+        try {
+            QueuedState head;
+            while ((head = expiryQueue.peek()) != null && head.entry().isExpired(now)) {
+                expiryQueue.poll();
+                queuedCount.decrementAndGet();
+                if (store.remove(head.key(), head.entry())) {
+                    expired++;
+                }
+            }
+        } finally {
+            drainLock.unlock();
+        }
+        if (expired > 0) {
+            authMetrics.statesExpired(expired);
+            log.debug("Expired {} OAuth states", expired);
+        }
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    // Over capacity: drop the oldest state so a flood of authorization URL requests cannot grow the heap
+    private void evictOldest() {
+        drainLock.lock();
+        try {
+            while (queuedCount.get() > maxCapacity) {
+                QueuedState oldest = expiryQueue.poll();
+                if (oldest == null) {
+                    return;
+                }
+                queuedCount.decrementAndGet();
+                if (store.remove(oldest.key(), oldest.entry())) {
+                    authMetrics.statesEvicted(1);
+                    log.debug("Evicted oldest OAuth state at capacity {}", maxCapacity);
+                }
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    // The 32 raw state bytes as four longs: no Base64 string, cheap equals and hashCode
+    private record StateKey(long a, long b, long c, long d) {
+
+        static StateKey of(byte[] bytes) {
+            if (bytes == null) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new StateKey(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+    }
+
+    private record QueuedState(StateKey key, StateEntry entry) {}
+
+    // Expiry is a System.nanoTime() deadline, so lookups need no Instant arithmetic
+    private record StateEntry(byte[] codeVerifier, long expiresAtNanos) {
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos > 0;
+        }
+    }
+}
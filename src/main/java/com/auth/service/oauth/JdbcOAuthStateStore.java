@@ -0,0 +1,75 @@
+package com.auth.service.oauth;
+
+import com.auth.config.OAuthProperties;
+import com.auth.metrics.AuthMetrics;
+import com.auth.util.OAuthUtils;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Shared by all replicas, so a callback can land on a different node than the one that issued the state
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "oauth.state-store", name = "type", havingValue = "jdbc")
+public class JdbcOAuthStateStore implements OAuthStateStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlSeconds;
+    private final AuthMetrics authMetrics;
+
+    public JdbcOAuthStateStore(JdbcTemplate jdbcTemplate, OAuthProperties oAuthProperties, AuthMetrics authMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlSeconds = oAuthProperties.getStateStore().getTtl().toSeconds();
+        this.authMetrics = authMetrics;
+    }
+
+    @Override
+    public void saveState(String state, String codeVerifier) {
+        byte[] key = OAuthUtils.decodeKey(state);
+        if (key == null) {
+            throw new IllegalArgumentException("OAuth state must be a generated 32-byte key");
+        }
+        jdbcTemplate.update(
+                "INSERT INTO oauth_states (state_key, code_verifier, expires_at)"
+                        + " VALUES (?, ?, now() + ? * INTERVAL '1 second')",
+                key,
+                OAuthUtils.decodeKey(codeVerifier),
+                ttlSeconds);
+        authMetrics.stateSaved();
+        log.debug("Saved OAuth state: {}", state);
+    }
+
+    @Override
+    public Optional<OAuthStateData> consumeState(String state) {
+        byte[] key = OAuthUtils.decodeKey(state);
+        if (key == null) {
+            authMetrics.stateConsumed(false);
+            return Optional.empty();
+        }
+        // Delete and read in one statement: two callbacks racing on the same state cannot both succeed
+        List<OAuthStateData> consumed = jdbcTemplate.query(
+                "DELETE FROM oauth_states WHERE state_key = ? AND expires_at > now() RETURNING code_verifier",
+                (rs, rowNum) -> new OAuthStateData(OAuthUtils.encodeKey(rs.getBytes("code_verifier"))),
+                (Object) key);
+        if (consumed.isEmpty()) {
+            authMetrics.stateConsumed(false);
+            log.debug("OAuth state not found or expired: {}", state);
+            return Optional.empty();
+        }
+        authMetrics.stateConsumed(true);
+        return Optional.of(consumed.getFirst());
+    }
+
+    @Scheduled(fixedRate = 60000) // Run every minute
+    public void cleanupExpiredStates() {
+        int removed = jdbcTemplate.update("DELETE FROM oauth_states WHERE expires_at <= now()");
+        if (removed > 0) {
+            authMetrics.statesExpired(removed);
+            log.debug("Removed {} expired OAuth states", removed);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package com.auth.service.oauth;
+
+public record OAuthStateData(String codeVerifier) {}
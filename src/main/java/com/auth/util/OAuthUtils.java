@@ -9,17 +9,18 @@ import java.util.Base64;
 public final class OAuthUtils {
 
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final int KEY_LENGTH = 32;
 
     private OAuthUtils() {}
 
     public static String generateState() {
-        byte[] bytes = new byte[32];
+        byte[] bytes = new byte[KEY_LENGTH];
         SECURE_RANDOM.nextBytes(bytes);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 
     public static String generateCodeVerifier() {
-        byte[] bytes = new byte[32];
+        byte[] bytes = new byte[KEY_LENGTH];
         SECURE_RANDOM.nextBytes(bytes);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
@@ -33,4 +34,21 @@ public final class OAuthUtils {
             throw new RuntimeException("SHA-256 algorithm not available", e);
         }
     }
+
+    // Reverses generateState/generateCodeVerifier; null when the value is not one we issued
+    public static byte[] decodeKey(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(value);
+            return bytes.length == KEY_LENGTH ? bytes : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public static String encodeKey(byte[] bytes) {
+        return bytes == null ? null : Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
 }
@@ -0,0 +1,49 @@
+package com.auth.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.auth.exception.InvalidRequestException;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class UserChangeTokenTest {
+
+    @Test
+    void encodeAndParseRoundTrip() {
+        UserChangeToken token = new UserChangeToken(LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000), 12345);
+
+        assertThat(UserChangeToken.parse(token.encode())).isEqualTo(token);
+    }
+
+    @Test
+    void encodeIsHexMicrosAndHexId() {
+        UserChangeToken token = new UserChangeToken(LocalDateTime.of(1970, 1, 1, 0, 0, 1, 1_000), 255);
+
+        assertThat(token.encode()).isEqualTo("f4241-ff");
+    }
+
+    @Test
+    void encodeDropsSubMicrosecondPrecision() {
+        UserChangeToken token = new UserChangeToken(LocalDateTime.of(2026, 1, 1, 0, 0, 0, 1_999), 1);
+
+        assertThat(UserChangeToken.parse(token.encode()).changedAt())
+                .isEqualTo(LocalDateTime.of(2026, 1, 1, 0, 0, 0, 1_000));
+    }
+
+    @Test
+    void missingTokenStartsFromTheBeginning() {
+        assertThat(UserChangeToken.parse(null)).isEqualTo(UserChangeToken.INITIAL);
+        assertThat(UserChangeToken.parse("  ")).isEqualTo(UserChangeToken.INITIAL);
+        assertThat(UserChangeToken.parse(UserChangeToken.INITIAL.encode())).isEqualTo(UserChangeToken.INITIAL);
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        for (String token : new String[] {"abc", "-1", "1-", "xyz-1", "1-2-3"}) {
+            assertThatThrownBy(() -> UserChangeToken.parse(token))
+                    .as(token)
+                    .isInstanceOf(InvalidRequestException.class);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.auth.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowSketchTest {
+
+    private static final long WINDOW = 1_000_000_000L;
+    private static final long SEED = 42L;
+
+    private static SlidingWindowSketch sketch(int width) {
+        return new SlidingWindowSketch(width, 4, WINDOW, SEED, 0);
+    }
+
+    @Test
+    void countsHitsWithinOneWindow() {
+        SlidingWindowSketch sketch = sketch(1024);
+
+        for (int i = 1; i < 5; i++) {
+            assertThat(sketch.hit("a", i)).isEqualTo((double) i);
+        }
+        assertThat(sketch.hit("a", WINDOW - 1)).isEqualTo(5.0);
+    }
+
+    @Test
+    void weightsPreviousWindowByRemainingOverlap() {
+        SlidingWindowSketch sketch = sketch(1024);
+        for (int i = 0; i < 8; i++) {
+            sketch.hit("a", 100);
+        }
+
+        // A quarter into the next window, three quarters of the previous one still overlap
+        assertThat(sketch.hit("a", WINDOW + WINDOW / 4)).isEqualTo(1 + 8 * 0.75);
+        assertThat(sketch.hit("a", 2 * WINDOW - 1)).isCloseTo(2.0, within(1e-6));
+    }
+
+    @Test
+    void dropsWindowsOlderThanThePreviousOne() {
+        SlidingWindowSketch sketch = sketch(1024);
+        for (int i = 0; i < 8; i++) {
+            sketch.hit("a", 100);
+        }
+
+        assertThat(sketch.hit("a", 2 * WINDOW + 1)).isEqualTo(1.0);
+    }
+
+    @Test
+    void lateHitAfterRotationCountsInTheCurrentWindow() {
+        SlidingWindowSketch sketch = sketch(1024);
+        sketch.hit("a", WINDOW);
+
+        // A caller that read the clock before the rotation must not bring the old window back
+        assertThat(sketch.hit("a", WINDOW - 1)).isEqualTo(2.0);
+        assertThat(sketch.hit("a", WINDOW + 1)).isEqualTo(3.0);
+    }
+
+    @Test
+    void keepsKeysApartInAWideSketch() {
+        SlidingWindowSketch sketch = sketch(65536);
+        for (int i = 0; i < 3; i++) {
+            sketch.hit("10.0.0.1", 0);
+        }
+
+        assertThat(sketch.hit("10.0.0.2", 0)).isEqualTo(1.0);
+    }
+
+    @Test
+    void neverUndercountsWhenKeysCollide() {
+        // 16 counters per row for 1000 keys: nearly every counter is shared
+        SlidingWindowSketch sketch = sketch(16);
+        for (int key = 0; key < 1000; key++) {
+            int hits = key % 7 + 1;
+            double count = 0;
+            for (int i = 0; i < hits; i++) {
+                count = sketch.hit("user-" + key, 0);
+            }
+            assertThat(count).isGreaterThanOrEqualTo(hits);
+        }
+    }
+
+    @Test
+    void losesNoHitsUnderConcurrentUpdates() throws Exception {
+        SlidingWindowSketch sketch = sketch(1024);
+        int threads = 8;
+        int hitsPerThread = 10_000;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < hitsPerThread; i++) {
+                        sketch.hit("a", 0);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(sketch.hit("a", 0)).isEqualTo(threads * hitsPerThread + 1.0);
+    }
+
+    @Test
+    void hashIsDeterministicPerSeed() {
+        long hash = SlidingWindowSketch.hash("10.0.0.1", SEED);
+
+        assertThat(SlidingWindowSketch.hash("10.0.0.1", SEED)).isEqualTo(hash);
+        assertThat(SlidingWindowSketch.hash("10.0.0.1", SEED + 1)).isNotEqualTo(hash);
+        assertThat(SlidingWindowSketch.hash("10.0.0.2", SEED)).isNotEqualTo(hash);
+    }
+
+    @Test
+    void rejectsWidthThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new SlidingWindowSketch(1000, 4, WINDOW))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("power of two");
+    }
+}
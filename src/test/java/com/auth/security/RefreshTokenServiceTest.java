@@ -0,0 +1,140 @@
+package com.auth.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.auth.config.TokenProperties;
+import com.auth.exception.InvalidCredentialsException;
+import com.auth.util.OAuthUtils;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import javax.sql.DataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Runs the rotation and revocation statements against Postgres with the real migrations applied
+class RefreshTokenServiceTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private RefreshTokenService refreshTokenService;
+    private Long userId;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:/db/master.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        TokenProperties tokenProperties = new TokenProperties();
+        tokenProperties.setRefreshTtl(Duration.ofDays(30));
+        refreshTokenService = new RefreshTokenService(jdbcTemplate, tokenProperties);
+
+        String email = UUID.randomUUID() + "@example.com";
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (first_name, last_name, email, email_normalized) VALUES ('Jane', 'Doe', ?, ?)"
+                        + " RETURNING id",
+                Long.class,
+                email,
+                email);
+    }
+
+    @Test
+    void rotateReplacesTokenWithSuccessorInSameFamily() {
+        String token = refreshTokenService.issue(userId);
+
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(token);
+
+        assertThat(rotated.userId()).isEqualTo(userId);
+        assertThat(rotated.refreshToken()).isNotEqualTo(token);
+        assertThat(refreshTokenService.rotate(rotated.refreshToken()).userId()).isEqualTo(userId);
+        assertThat(activeTokens()).isEqualTo(1);
+        assertThat(families()).isEqualTo(1);
+    }
+
+    @Test
+    void reusedTokenRevokesItsWholeFamily() {
+        String stolen = refreshTokenService.issue(userId);
+        String successor = refreshTokenService.rotate(stolen).refreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(stolen)).isInstanceOf(InvalidCredentialsException.class);
+
+        // The legitimate successor goes too, since nobody can tell which holder is the thief
+        assertThatThrownBy(() -> refreshTokenService.rotate(successor))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThat(activeTokens()).isZero();
+    }
+
+    @Test
+    void reuseLeavesOtherLoginsOfTheUserActive() {
+        String stolen = refreshTokenService.issue(userId);
+        refreshTokenService.rotate(stolen);
+        String otherDevice = refreshTokenService.issue(userId);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(stolen)).isInstanceOf(InvalidCredentialsException.class);
+
+        assertThat(refreshTokenService.rotate(otherDevice).userId()).isEqualTo(userId);
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = refreshTokenService.issue(userId);
+        jdbcTemplate.update(
+                "UPDATE refresh_tokens SET expires_at = now() - INTERVAL '1 second' WHERE user_id = ?", userId);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token)).isInstanceOf(InvalidCredentialsException.class);
+    }
+
+    @Test
+    void unknownOrMalformedTokenIsRejected() {
+        refreshTokenService.issue(userId);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(OAuthUtils.generateState()))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate("not-a-token"))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThat(activeTokens()).isEqualTo(1);
+    }
+
+    @Test
+    void revokedFamilyCannotBeRotated() {
+        String token = refreshTokenService.issue(userId);
+
+        assertThat(refreshTokenService.revokeFamily(token)).isEqualTo(1);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token)).isInstanceOf(InvalidCredentialsException.class);
+    }
+
+    private int activeTokens() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM refresh_tokens WHERE user_id = ? AND revoked_at IS NULL", Integer.class, userId);
+    }
+
+    private int families() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT family_id) FROM refresh_tokens WHERE user_id = ?", Integer.class, userId);
+    }
+}